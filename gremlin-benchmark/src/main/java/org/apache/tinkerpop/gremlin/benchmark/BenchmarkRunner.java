@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks whose names match the regular expressions given as arguments (all benchmarks if there are no
+ * arguments) and writes the results as JSON so that they can be compared across builds. The result file defaults to
+ * {@code benchmark-result.json} and is set with the {@code gremlin.benchmark.resultFile} system property. The number
+ * of forks, warmup and measurement iterations default to those declared on the benchmarks and are set with the
+ * {@code gremlin.benchmark.forks}, {@code gremlin.benchmark.warmupIterations} and
+ * {@code gremlin.benchmark.measurementIterations} system properties.
+ * <p/>
+ * The benchmarks are packaged into {@code target/benchmarks.jar} and are run with
+ * {@code java -jar target/benchmarks.jar [regexp...]}.
+ *
+ * @author Stephen Mallette (http://stephen.genoprime.com)
+ */
+public final class BenchmarkRunner {
+
+    public static final String RESULT_FILE = "gremlin.benchmark.resultFile";
+    public static final String FORKS = "gremlin.benchmark.forks";
+    public static final String WARMUP_ITERATIONS = "gremlin.benchmark.warmupIterations";
+    public static final String MEASUREMENT_ITERATIONS = "gremlin.benchmark.measurementIterations";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final ChainedOptionsBuilder options = new OptionsBuilder()
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty(RESULT_FILE, "benchmark-result.json"));
+        if (0 == args.length)
+            options.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+        else {
+            for (final String include : args) {
+                options.include(include);
+            }
+        }
+        if (null != Integer.getInteger(FORKS))
+            options.forks(Integer.getInteger(FORKS));
+        if (null != Integer.getInteger(WARMUP_ITERATIONS))
+            options.warmupIterations(Integer.getInteger(WARMUP_ITERATIONS));
+        if (null != Integer.getInteger(MEASUREMENT_ITERATIONS))
+            options.measurementIterations(Integer.getInteger(MEASUREMENT_ITERATIONS));
+        new Runner(options.build()).run();
+    }
+}
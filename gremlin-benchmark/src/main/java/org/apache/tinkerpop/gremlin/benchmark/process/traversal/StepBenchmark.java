@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.benchmark.process.traversal;
+
+import org.apache.tinkerpop.gremlin.benchmark.util.BenchmarkGraphs;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Order;
+import org.apache.tinkerpop.gremlin.structure.P;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+
+/**
+ * The throughput of OLTP traversals over TinkerGraph that are dominated by a single type of step. Every result of a
+ * traversal is consumed by a {@link Blackhole} so that the traversal is not optimized away.
+ *
+ * @author Stephen Mallette (http://stephen.genoprime.com)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class StepBenchmark {
+
+    @Param({"10000"})
+    public int numberOfVertices;
+
+    @Param({"distribution", "community"})
+    public String generator;
+
+    private TinkerGraph graph;
+    private GraphTraversalSource g;
+
+    @Setup
+    public void setup() {
+        this.graph = "community".equals(this.generator) ?
+                BenchmarkGraphs.communityGraph(this.numberOfVertices, 3) :
+                BenchmarkGraphs.distributionGraph(this.numberOfVertices, 3);
+        this.g = this.graph.traversal();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        this.graph.close();
+    }
+
+    @Benchmark
+    public void vertexStep(final Blackhole blackhole) {
+        consume(this.g.V().out(), blackhole);
+    }
+
+    @Benchmark
+    public void vertexStepToEdges(final Blackhole blackhole) {
+        consume(this.g.V().outE("knows"), blackhole);
+    }
+
+    @Benchmark
+    public void hasStep(final Blackhole blackhole) {
+        consume(this.g.V().has("age", P.gt(50)), blackhole);
+    }
+
+    @Benchmark
+    public void pathStep(final Blackhole blackhole) {
+        consume(this.g.V().out().out().path(), blackhole);
+    }
+
+    @Benchmark
+    public void repeatStep(final Blackhole blackhole) {
+        consume(this.g.V().repeat(out()).times(3), blackhole);
+    }
+
+    @Benchmark
+    public void countBarrier(final Blackhole blackhole) {
+        consume(this.g.V().out().out().count(), blackhole);
+    }
+
+    @Benchmark
+    public void dedupBarrier(final Blackhole blackhole) {
+        consume(this.g.V().out().out().dedup(), blackhole);
+    }
+
+    @Benchmark
+    public void groupCountBarrier(final Blackhole blackhole) {
+        consume(this.g.V().out().groupCount().by("age"), blackhole);
+    }
+
+    @Benchmark
+    public void orderBarrier(final Blackhole blackhole) {
+        consume(this.g.V().out().order().by("age", Order.decr), blackhole);
+    }
+
+    private static void consume(final Traversal<?, ?> traversal, final Blackhole blackhole) {
+        while (traversal.hasNext()) {
+            blackhole.consume(traversal.next());
+        }
+    }
+}
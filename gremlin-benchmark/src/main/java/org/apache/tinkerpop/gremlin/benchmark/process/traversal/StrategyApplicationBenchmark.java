@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.benchmark.process.traversal;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.P;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.as;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+
+/**
+ * The cost of constructing a traversal and applying the registered strategies to it, without iterating it. This is
+ * the fixed per-traversal overhead of short OLTP queries.
+ *
+ * @author Stephen Mallette (http://stephen.genoprime.com)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class StrategyApplicationBenchmark {
+
+    private TinkerGraph graph;
+    private GraphTraversalSource g;
+
+    @Setup
+    public void setup() {
+        this.graph = TinkerFactory.createModern();
+        this.g = this.graph.traversal();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        this.graph.close();
+    }
+
+    @Benchmark
+    public Traversal.Admin<?, ?> linearTraversal() {
+        final Traversal.Admin<?, ?> traversal = this.g.V().has("name", "marko").out("knows").has("age", P.gt(30)).values("name").asAdmin();
+        traversal.applyStrategies();
+        return traversal;
+    }
+
+    @Benchmark
+    public Traversal.Admin<?, ?> nestedTraversal() {
+        final Traversal.Admin<?, ?> traversal = this.g.V().hasLabel("person")
+                .repeat(out()).times(2)
+                .and(outE("created").count().is(P.gt(0l)))
+                .group().by("name").by(outE().values("weight").fold()).asAdmin();
+        traversal.applyStrategies();
+        return traversal;
+    }
+
+    @Benchmark
+    public Traversal.Admin<?, ?> matchTraversal() {
+        final Traversal.Admin<?, ?> traversal = this.g.V().match("a",
+                as("a").out("created").as("b"),
+                as("a").out("knows").as("c"),
+                as("c").out("created").as("b"),
+                as("b").has("lang", "java")).asAdmin();
+        traversal.applyStrategies();
+        return traversal;
+    }
+}
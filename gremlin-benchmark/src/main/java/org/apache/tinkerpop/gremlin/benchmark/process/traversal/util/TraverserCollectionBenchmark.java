@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.benchmark.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of filling and draining a {@link TraverserSet} and a {@link BulkSet}. The objects are drawn from a pool of
+ * {@code distinctObjects} so that the ratio of merged to added traversers can be varied.
+ *
+ * @author Stephen Mallette (http://stephen.genoprime.com)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class TraverserCollectionBenchmark {
+
+    @Param({"10000"})
+    public int numberOfObjects;
+
+    @Param({"100", "10000"})
+    public int distinctObjects;
+
+    private List<Traverser.Admin<Long>> traversers;
+    private Long[] objects;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(12345l);
+        this.traversers = new ArrayList<>(this.numberOfObjects);
+        this.objects = new Long[this.numberOfObjects];
+        for (int i = 0; i < this.numberOfObjects; i++) {
+            this.objects[i] = (long) random.nextInt(this.distinctObjects);
+            this.traversers.add(B_O_TraverserGenerator.instance().generate(this.objects[i], EmptyStep.instance(), 1l));
+        }
+    }
+
+    @Benchmark
+    public void traverserSetAddAndPoll(final Blackhole blackhole) {
+        final TraverserSet<Long> traverserSet = new TraverserSet<>();
+        for (final Traverser.Admin<Long> traverser : this.traversers) {
+            traverserSet.add(traverser.split());
+        }
+        while (!traverserSet.isEmpty()) {
+            blackhole.consume(traverserSet.remove());
+        }
+    }
+
+    @Benchmark
+    public long traverserSetBulkSize() {
+        final TraverserSet<Long> traverserSet = new TraverserSet<>();
+        for (final Traverser.Admin<Long> traverser : this.traversers) {
+            traverserSet.add(traverser.split());
+        }
+        return traverserSet.bulkSize();
+    }
+
+    @Benchmark
+    public void bulkSetAddAndIterate(final Blackhole blackhole) {
+        final BulkSet<Long> bulkSet = new BulkSet<>();
+        for (final Long object : this.objects) {
+            bulkSet.add(object, 1l);
+        }
+        bulkSet.forEach(object -> blackhole.consume(object));
+    }
+
+    @Benchmark
+    public void bulkSetForEachWithBulk(final Blackhole blackhole) {
+        final BulkSet<Long> bulkSet = new BulkSet<>();
+        for (final Long object : this.objects) {
+            bulkSet.add(object, 1l);
+        }
+        bulkSet.forEach((object, bulk) -> blackhole.consume(bulk));
+    }
+}
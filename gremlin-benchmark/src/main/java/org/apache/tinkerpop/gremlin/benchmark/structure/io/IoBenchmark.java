@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.benchmark.structure.io;
+
+import org.apache.tinkerpop.gremlin.benchmark.util.BenchmarkGraphs;
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONReader;
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONWriter;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoReader;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of writing a generated TinkerGraph with Gryo and GraphSON and of reading it back into an empty TinkerGraph.
+ * Reading Gryo is the cost of a warm restart of a graph configured with {@link TinkerGraph#CONFIG_GRAPH_LOCATION}.
+ *
+ * @author Stephen Mallette (http://stephen.genoprime.com)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class IoBenchmark {
+
+    @Param({"1000"})
+    public int numberOfVertices;
+
+    private TinkerGraph graph;
+    private final GryoWriter gryoWriter = GryoWriter.build().create();
+    private final GryoReader gryoReader = GryoReader.build().create();
+    private final GraphSONWriter graphsonWriter = GraphSONWriter.build().create();
+    private final GraphSONReader graphsonReader = GraphSONReader.build().create();
+    private byte[] gryoBytes;
+    private byte[] graphsonBytes;
+
+    @Setup
+    public void setup() throws IOException {
+        this.graph = BenchmarkGraphs.distributionGraph(this.numberOfVertices, 3);
+        this.gryoBytes = this.writeGryo();
+        this.graphsonBytes = this.writeGraphSON();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        this.graph.close();
+    }
+
+    @Benchmark
+    public byte[] writeGryo() throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        this.gryoWriter.writeGraph(outputStream, this.graph);
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public TinkerGraph readGryo() throws IOException {
+        final TinkerGraph graph = TinkerGraph.open();
+        this.gryoReader.readGraph(new ByteArrayInputStream(this.gryoBytes), graph);
+        return graph;
+    }
+
+    @Benchmark
+    public byte[] writeGraphSON() throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        this.graphsonWriter.writeGraph(outputStream, this.graph);
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public TinkerGraph readGraphSON() throws IOException {
+        final TinkerGraph graph = TinkerGraph.open();
+        this.graphsonReader.readGraph(new ByteArrayInputStream(this.graphsonBytes), graph);
+        return graph;
+    }
+}
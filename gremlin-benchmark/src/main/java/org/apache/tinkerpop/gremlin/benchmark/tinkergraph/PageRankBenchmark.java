@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.benchmark.tinkergraph;
+
+import org.apache.tinkerpop.gremlin.benchmark.util.BenchmarkGraphs;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time it takes {@code TinkerGraphComputer} to run {@link PageRankVertexProgram} over a generated graph.
+ *
+ * @author Stephen Mallette (http://stephen.genoprime.com)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(2)
+public class PageRankBenchmark {
+
+    @Param({"10000"})
+    public int numberOfVertices;
+
+    @Param({"distribution", "community"})
+    public String generator;
+
+    @Param({"10"})
+    public int iterations;
+
+    private TinkerGraph graph;
+
+    @Setup
+    public void setup() {
+        this.graph = "community".equals(this.generator) ?
+                BenchmarkGraphs.communityGraph(this.numberOfVertices, 3) :
+                BenchmarkGraphs.distributionGraph(this.numberOfVertices, 3);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        this.graph.close();
+    }
+
+    @Benchmark
+    public ComputerResult pageRank() throws Exception {
+        return this.graph.compute().program(PageRankVertexProgram.build().iterations(this.iterations).create()).submit().get();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.benchmark.util;
+
+import org.apache.tinkerpop.gremlin.algorithm.generator.CommunityGenerator;
+import org.apache.tinkerpop.gremlin.algorithm.generator.DistributionGenerator;
+import org.apache.tinkerpop.gremlin.algorithm.generator.NormalDistribution;
+import org.apache.tinkerpop.gremlin.algorithm.generator.PowerLawDistribution;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+
+import java.util.Random;
+
+/**
+ * Generates the graphs that the benchmarks run against. The graphs are generated from a fixed seed so that every run
+ * of a benchmark sees the same graph. Every vertex has a {@code name} and an {@code age} property and every edge has
+ * a {@code weight} property.
+ *
+ * @author Stephen Mallette (http://stephen.genoprime.com)
+ */
+public final class BenchmarkGraphs {
+
+    public static final long SEED = 854939487556l;
+
+    private BenchmarkGraphs() {
+    }
+
+    /**
+     * Generates a graph of {@code knows} edges with power law in- and out-degree distributions.
+     */
+    public static TinkerGraph distributionGraph(final int numberOfVertices, final int edgesPerVertex) {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = addVertices(graph, numberOfVertices);
+        DistributionGenerator.build(graph)
+                .label("knows")
+                .seedGenerator(random::nextLong)
+                .outDistribution(new PowerLawDistribution(2.8))
+                .inDistribution(new PowerLawDistribution(2.3))
+                .edgeProcessor(edge -> edge.property("weight", random.nextDouble()))
+                .expectedNumEdges(numberOfVertices * edgesPerVertex).create().generate();
+        return graph;
+    }
+
+    /**
+     * Generates a graph of {@code knows} edges with normally distributed community sizes and power law distributed
+     * out-degrees.
+     */
+    public static TinkerGraph communityGraph(final int numberOfVertices, final int edgesPerVertex) {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = addVertices(graph, numberOfVertices);
+        CommunityGenerator.build(graph)
+                .label("knows")
+                .seedGenerator(random::nextLong)
+                .communityDistribution(new NormalDistribution(2))
+                .degreeDistribution(new PowerLawDistribution(2.4))
+                .edgeProcessor(edge -> edge.property("weight", random.nextDouble()))
+                .expectedNumCommunities(numberOfVertices / 100)
+                .expectedNumEdges(numberOfVertices * edgesPerVertex).create().generate();
+        return graph;
+    }
+
+    private static Random addVertices(final TinkerGraph graph, final int numberOfVertices) {
+        final Random random = new Random(SEED);
+        for (int i = 0; i < numberOfVertices; i++) {
+            graph.addVertex(T.label, "person", "name", "person" + i, "age", random.nextInt(100));
+        }
+        return random;
+    }
+}
@@ -46,4 +46,14 @@ public interface Messenger<M> {
      */
     public void sendMessage(final MessageScope messageScope, final M message);
 
+    /**
+     * The currently executing vertex votes to halt. A {@link GraphComputer} may then skip the vertex in the next
+     * iterations until it is sent a message. As such, a vertex should only vote to halt if executing it without
+     * incoming messages would neither change its state nor send messages. A vote only holds for the iteration it is
+     * cast in and a vertex that is executed again has to vote again. The default implementation ignores the vote.
+     */
+    public default void voteToHalt() {
+
+    }
+
 }
@@ -36,6 +36,7 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -55,14 +56,20 @@ public class PageRankVertexProgram extends StaticVertexProgram<Double> {
     private static final String VERTEX_COUNT = "gremlin.pageRankVertexProgram.vertexCount";
     private static final String ALPHA = "gremlin.pageRankVertexProgram.alpha";
     private static final String TOTAL_ITERATIONS = "gremlin.pageRankVertexProgram.totalIterations";
+    private static final String EPSILON = "gremlin.pageRankVertexProgram.epsilon";
     private static final String INCIDENT_TRAVERSAL_SUPPLIER = "gremlin.pageRankVertexProgram.incidentTraversalSupplier";
+    private static final String RESIDUAL = "gremlin.pageRankVertexProgram.residual";
+    private static final String VOTE_TO_HALT = "gremlin.pageRankVertexProgram.voteToHalt";
 
     private LambdaHolder<Supplier<Traversal<Vertex, Edge>>> traversalSupplier;
     private double vertexCountAsDouble = 1.0d;
     private double alpha = 0.85d;
     private int totalIterations = 30;
+    private double epsilon = 0.0d;
 
     private static final Set<String> COMPUTE_KEYS = new HashSet<>(Arrays.asList(PAGE_RANK, EDGE_COUNT));
+    private static final Set<String> EPSILON_COMPUTE_KEYS = new HashSet<>(Arrays.asList(PAGE_RANK, EDGE_COUNT, RESIDUAL));
+    private static final Set<String> MEMORY_COMPUTE_KEYS = new HashSet<>(Collections.singletonList(VOTE_TO_HALT));
 
     private PageRankVertexProgram() {
 
@@ -78,6 +85,7 @@ public class PageRankVertexProgram extends StaticVertexProgram<Double> {
         this.vertexCountAsDouble = configuration.getDouble(VERTEX_COUNT, 1.0d);
         this.alpha = configuration.getDouble(ALPHA, 0.85d);
         this.totalIterations = configuration.getInt(TOTAL_ITERATIONS, 30);
+        this.epsilon = configuration.getDouble(EPSILON, 0.0d);
     }
 
     @Override
@@ -86,6 +94,7 @@ public class PageRankVertexProgram extends StaticVertexProgram<Double> {
         configuration.setProperty(VERTEX_COUNT, this.vertexCountAsDouble);
         configuration.setProperty(ALPHA, this.alpha);
         configuration.setProperty(TOTAL_ITERATIONS, this.totalIterations);
+        configuration.setProperty(EPSILON, this.epsilon);
         if (null != this.traversalSupplier) {
             this.traversalSupplier.storeState(configuration);
         }
@@ -103,7 +112,12 @@ public class PageRankVertexProgram extends StaticVertexProgram<Double> {
 
     @Override
     public Set<String> getElementComputeKeys() {
-        return COMPUTE_KEYS;
+        return this.epsilon > 0.0d ? EPSILON_COMPUTE_KEYS : COMPUTE_KEYS;
+    }
+
+    @Override
+    public Set<String> getMemoryComputeKeys() {
+        return this.epsilon > 0.0d ? MEMORY_COMPUTE_KEYS : Collections.emptySet();
     }
 
     @Override
@@ -120,7 +134,8 @@ public class PageRankVertexProgram extends StaticVertexProgram<Double> {
 
     @Override
     public void setup(final Memory memory) {
-
+        if (this.epsilon > 0.0d)
+            memory.set(VOTE_TO_HALT, true);
     }
 
     @Override
@@ -133,6 +148,24 @@ public class PageRankVertexProgram extends StaticVertexProgram<Double> {
             vertex.property(VertexProperty.Cardinality.single, PAGE_RANK, initialPageRank);
             vertex.property(VertexProperty.Cardinality.single, EDGE_COUNT, edgeCount);
             messenger.sendMessage(this.incidentMessageScope, initialPageRank / edgeCount);
+        } else if (this.epsilon > 0.0d) {
+            // after the second iteration, the messages are the changes to the page ranks of the adjacent vertices
+            final double incomingPageRank = IteratorUtils.reduce(messenger.receiveMessages(), 0.0d, (a, b) -> a + b);
+            final double oldPageRank = vertex.<Double>value(PAGE_RANK);
+            final double newPageRank = 2 == memory.getIteration() ?
+                    (this.alpha * incomingPageRank) + ((1.0d - this.alpha) / this.vertexCountAsDouble) :
+                    oldPageRank + (this.alpha * incomingPageRank);
+            vertex.property(VertexProperty.Cardinality.single, PAGE_RANK, newPageRank);
+            // the changes that were not yet propagated add up until they are no longer negligible
+            final double residual = vertex.<Double>property(RESIDUAL).orElse(0.0d) + newPageRank - oldPageRank;
+            if (Math.abs(residual) < this.epsilon) {
+                vertex.property(VertexProperty.Cardinality.single, RESIDUAL, residual);
+                messenger.voteToHalt();
+            } else {
+                vertex.property(VertexProperty.Cardinality.single, RESIDUAL, 0.0d);
+                messenger.sendMessage(this.incidentMessageScope, residual / vertex.<Double>value(EDGE_COUNT));
+                memory.and(VOTE_TO_HALT, false);
+            }
         } else {
             double newPageRank = IteratorUtils.reduce(messenger.receiveMessages(), 0.0d, (a, b) -> a + b);
             newPageRank = (this.alpha * newPageRank) + ((1.0d - this.alpha) / this.vertexCountAsDouble);
@@ -141,9 +174,20 @@ public class PageRankVertexProgram extends StaticVertexProgram<Double> {
         }
     }
 
+    /**
+     * Terminate after the total number of iterations or, with an epsilon, once every vertex has voted to halt without
+     * sending a message, as no vertex would then be executed again.
+     */
     @Override
     public boolean terminate(final Memory memory) {
-        return memory.getIteration() >= this.totalIterations;
+        if (memory.getIteration() >= this.totalIterations)
+            return true;
+        if (this.epsilon > 0.0d) {
+            if (memory.getIteration() > 1 && memory.<Boolean>get(VOTE_TO_HALT))
+                return true;
+            memory.set(VOTE_TO_HALT, true);
+        }
+        return false;
     }
 
     @Override
@@ -192,6 +236,16 @@ public class PageRankVertexProgram extends StaticVertexProgram<Double> {
             return this;
         }
 
+        /**
+         * Propagate the changes to the page ranks instead of the page ranks themselves. A vertex holds back the changes
+         * to its page rank as a residual until they add up to at least {@code epsilon} and votes to halt meanwhile.
+         * The computation ends early once every vertex has voted to halt.
+         */
+        public Builder epsilon(final double epsilon) {
+            this.configuration.setProperty(EPSILON, epsilon);
+            return this;
+        }
+
         public Builder vertexCount(final long vertexCount) {
             this.configuration.setProperty(VERTEX_COUNT, (double) vertexCount);
             return this;
@@ -25,7 +25,9 @@ import org.apache.tinkerpop.gremlin.process.computer.util.GraphComputerHelper;
 import org.apache.tinkerpop.gremlin.process.computer.util.StaticMapReduce;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -33,8 +35,10 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.ChainedComparator;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -46,6 +50,8 @@ public final class TraverserMapReduce extends StaticMapReduce<Comparable, Object
 
     private Traversal.Admin<?, ?> traversal;
     private Optional<Comparator<Comparable>> comparator = Optional.empty();
+    private long low = 0l;
+    private long high = -1l;
 
     private TraverserMapReduce() {
     }
@@ -53,6 +59,7 @@ public final class TraverserMapReduce extends StaticMapReduce<Comparable, Object
     public TraverserMapReduce(final Step traversalEndStep) {
         this.traversal = traversalEndStep.getTraversal();
         this.comparator = Optional.ofNullable(traversalEndStep instanceof ComparatorHolder ? new ChainedComparator<Comparable>(((ComparatorHolder) traversalEndStep).getComparators()) : null);
+        this.loadRange(traversalEndStep);
     }
 
     @Override
@@ -60,6 +67,14 @@ public final class TraverserMapReduce extends StaticMapReduce<Comparable, Object
         this.traversal = TraversalVertexProgram.getTraversalSupplier(configuration).get();
         final Step endStep = this.traversal.getEndStep().getPreviousStep(); // don't get the ComputerResultStep
         this.comparator = Optional.ofNullable(endStep instanceof ComparatorHolder ? new ChainedComparator<Comparable>(((ComparatorHolder) endStep).getComparators()) : null);
+        this.loadRange(endStep);
+    }
+
+    private void loadRange(final Step endStep) {
+        if (endStep instanceof OrderGlobalStep) {
+            this.low = ((OrderGlobalStep) endStep).getLowRange();
+            this.high = ((OrderGlobalStep) endStep).getHighRange();
+        }
     }
 
     @Override
@@ -82,7 +97,30 @@ public final class TraverserMapReduce extends StaticMapReduce<Comparable, Object
 
     @Override
     public Iterator<Object> generateFinalResult(final Iterator<KeyValue<Comparable, Object>> keyValues) {
-        return IteratorUtils.map(keyValues, KeyValue::getValue);
+        return -1 == this.high ?
+                IteratorUtils.map(keyValues, KeyValue::getValue) :
+                this.range(keyValues).iterator();
+    }
+
+    /**
+     * Apply the range of a bounded {@link OrderGlobalStep} to the sorted traversers, trimming the bulk of the
+     * traversers at the low and high ends of the range.
+     */
+    private List<Object> range(final Iterator<KeyValue<Comparable, Object>> keyValues) {
+        final List<Object> traversers = new ArrayList<>();
+        long count = 0l;
+        while (count < this.high && keyValues.hasNext()) {
+            final Traverser.Admin<?> traverser = (Traverser.Admin<?>) keyValues.next().getValue();
+            final long bulk = traverser.bulk();
+            final long skip = Math.max(0l, this.low - count);
+            final long emit = Math.min(bulk, this.high - count) - skip;
+            count = count + bulk;
+            if (emit > 0) {
+                traverser.setBulk(emit);
+                traversers.add(traverser);
+            }
+        }
+        return traversers;
     }
 
 
@@ -56,7 +56,7 @@ public final class ComputerGraph implements Graph {
         return new ComputerGraph(vertex.graph(), elementComputeKeys).wrapVertex(vertex);
     }
 
-    private final Vertex wrapVertex(final Vertex vertex) {
+    public Vertex wrapVertex(final Vertex vertex) {
         return new ComputerVertex(vertex);
     }
 
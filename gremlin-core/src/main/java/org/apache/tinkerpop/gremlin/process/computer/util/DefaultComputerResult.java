@@ -51,7 +51,7 @@ public class DefaultComputerResult implements ComputerResult {
     }
 
     @Override
-    public void close() {
+    public void close() throws Exception {
     }
 
     @Override
@@ -24,6 +24,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.Dedu
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.IdentityRemovalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.MatchWhereStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ProfileStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.OrderLimitStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.RangeByIsCountStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ComparatorHolderRemovalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.EngineDependentStrategy;
@@ -160,6 +161,7 @@ public interface TraversalStrategies extends Serializable, Cloneable {
             final TraversalStrategies coreStrategies = new DefaultTraversalStrategies();
             coreStrategies.addStrategies(
                     DedupOptimizerStrategy.instance(),
+                    OrderLimitStrategy.instance(),
                     RangeByIsCountStrategy.instance(),
                     IdentityRemovalStrategy.instance(),
                     MatchWhereStrategy.instance(),
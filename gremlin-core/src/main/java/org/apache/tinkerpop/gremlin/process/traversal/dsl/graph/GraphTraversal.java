@@ -695,6 +695,14 @@ public interface GraphTraversal<S, E> extends Traversal<S, E> {
         return this.until(new LoopTraversal(maxLoops));
     }
 
+    public default GraphTraversal<S, E> breadthFirst() {
+        return RepeatStep.addBreadthFirstToTraversal(this, false);
+    }
+
+    public default GraphTraversal<S, E> filterVisited() {
+        return RepeatStep.addBreadthFirstToTraversal(this, true);
+    }
+
     public default <E2> GraphTraversal<S, E2> local(final Traversal<?, E2> localTraversal) {
         return this.asAdmin().addStep(new LocalStep<>(this.asAdmin(), localTraversal.asAdmin()));
     }
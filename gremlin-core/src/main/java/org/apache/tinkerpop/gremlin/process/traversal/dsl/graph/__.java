@@ -544,6 +544,14 @@ public class __ {
         return __.<A>start().times(maxLoops);
     }
 
+    public static <A> GraphTraversal<A, A> breadthFirst() {
+        return __.<A>start().breadthFirst();
+    }
+
+    public static <A> GraphTraversal<A, A> filterVisited() {
+        return __.<A>start().filterVisited();
+    }
+
     public static <A> GraphTraversal<A, A> emit() {
         return __.<A>start().emit();
     }
@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.branch;
 
+import org.apache.tinkerpop.gremlin.process.traversal.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
@@ -26,16 +27,34 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareSte
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
+ * By default, traversers are looped through the repeat traversal one at a time. In breadth-first mode, which is set
+ * by the {@code breadthFirst()} modulator, all the starts of the step are drained into a frontier {@link TraverserSet}
+ * and each loop is completed for the whole frontier before the next loop begins. As equal traversers are merged into
+ * a single traverser of the summed bulk, the number of traversers in a frontier is bounded by the number of distinct
+ * objects reached (and their paths if tracked) rather than by the number of walks. Breadth-first mode only applies to
+ * standard (OLTP) execution.
+ * <p/>
+ * In breadth-first mode, the step can also filter visited objects, which is set by the {@code filterVisited()}
+ * modulator. A traverser that reaches an object that was already reached in a previous loop (or was a start of the
+ * step) is then not looped again. If the object left the step by {@code until()} or {@code emit()} when it was first
+ * reached, the traverser is merged into the traverser that left the step and otherwise, it is dropped. The step then
+ * holds its output until it has looped all its starts. This turns {@code repeat().until()} and
+ * {@code repeat().emit()} into reachability queries where every object is looped at most once and is thus only
+ * sound for queries that do not care about the walks beyond the first loop an object is reached in.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements TraversalParent {
@@ -46,10 +65,42 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
     public boolean untilFirst = false;
     public boolean emitFirst = false;
 
+    private boolean breadthFirst = false;
+    private boolean filterVisited = false;
+    private TraverserSet<S> frontier = new TraverserSet<>();
+    private TraverserSet<S> output = new TraverserSet<>();
+    // the visited objects of previous loops and those reached in the current loop, each with the traverser it left with
+    private Map<Object, Traverser.Admin<S>> visited = new HashMap<>();
+    private Map<Object, Traverser.Admin<S>> reached = new HashMap<>();
+
     public RepeatStep(final Traversal.Admin traversal) {
         super(traversal);
     }
 
+    public void setBreadthFirst(final boolean breadthFirst) {
+        this.breadthFirst = breadthFirst;
+        if (!breadthFirst)
+            this.filterVisited = false;
+    }
+
+    public boolean isBreadthFirst() {
+        return this.breadthFirst;
+    }
+
+    /**
+     * Whether to drop traversers at objects reached in previous loops. Filtering visited objects requires
+     * breadth-first mode and thus, enabling it also enables breadth-first mode.
+     */
+    public void setFilterVisited(final boolean filterVisited) {
+        this.filterVisited = filterVisited;
+        if (filterVisited)
+            this.breadthFirst = true;
+    }
+
+    public boolean isFilterVisited() {
+        return this.filterVisited;
+    }
+
     @Override
     public Set<TraverserRequirement> getRequirements() {
         final Set<TraverserRequirement> requirements = this.getSelfAndChildRequirements(TraverserRequirement.BULK);
@@ -127,11 +178,26 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             clone.untilTraversal = clone.integrateChild(this.untilTraversal.clone());
         if (null != this.emitTraversal)
             clone.emitTraversal = clone.integrateChild(this.emitTraversal.clone());
+        clone.frontier = new TraverserSet<>();
+        clone.output = new TraverserSet<>();
+        clone.visited = new HashMap<>();
+        clone.reached = new HashMap<>();
         return clone;
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        this.frontier.clear();
+        this.output.clear();
+        this.visited.clear();
+        this.reached.clear();
+    }
+
     @Override
     protected Iterator<Traverser<S>> standardAlgorithm() throws NoSuchElementException {
+        if (this.breadthFirst)
+            return this.breadthFirstAlgorithm();
         while (true) {
             if (this.repeatTraversal.getEndStep().hasNext()) {
                 return this.repeatTraversal.getEndStep();
@@ -151,6 +217,72 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         }
     }
 
+    private Iterator<Traverser<S>> breadthFirstAlgorithm() throws NoSuchElementException {
+        while (true) {
+            if (!this.output.isEmpty() && (!this.filterVisited || this.frontier.isEmpty()))
+                return IteratorUtils.of(this.output.remove());
+            else if (!this.frontier.isEmpty())
+                this.processFrontier();
+            else if (this.starts.hasNext()) {
+                this.visited.clear();
+                while (this.starts.hasNext()) {
+                    final Traverser.Admin<S> start = this.starts.next();
+                    this.frontier.add(start);
+                    if (this.filterVisited)
+                        this.reached.putIfAbsent(start.get(), null);
+                }
+            } else
+                throw FastNoSuchElementException.instance();
+        }
+    }
+
+    /**
+     * Adds the traverser to the output and, if visited objects are filtered, remembers the traverser the object of
+     * the traverser left the step with so that traversers reaching the object in later loops can be merged into it.
+     */
+    private void addOutput(final Traverser.Admin<S> traverser) {
+        this.output.add(traverser);
+        if (this.filterVisited) {
+            final Map<Object, Traverser.Admin<S>> visits = this.visited.containsKey(traverser.get()) ? this.visited : this.reached;
+            if (null == visits.get(traverser.get()))
+                visits.put(traverser.get(), this.output.get(traverser));
+        }
+    }
+
+    /**
+     * Loops the current frontier once through the repeat traversal. The traversers that continue looping are added
+     * to the next frontier by the {@link RepeatEndStep} and the traversers that leave the step are added to the output.
+     */
+    private void processFrontier() {
+        final TraverserSet<S> current = this.frontier;
+        this.frontier = new TraverserSet<>();
+        if (this.filterVisited) {
+            this.visited.putAll(this.reached);
+            this.reached.clear();
+        }
+        for (final Traverser.Admin<S> start : current) {
+            if (doUntil(start, true)) {
+                start.resetLoops();
+                this.addOutput(start);
+                continue;
+            }
+            if (doEmit(start, true)) {
+                final Traverser.Admin<S> emitSplit = start.split();
+                emitSplit.resetLoops();
+                this.addOutput(emitSplit);
+            }
+            this.repeatTraversal.addStart(start);
+        }
+        final Step<?, S> endStep = this.repeatTraversal.getEndStep();
+        while (endStep.hasNext()) {
+            this.addOutput(endStep.next().asAdmin());
+        }
+        if (this.filterVisited) {
+            this.visited.putAll(this.reached);
+            this.reached.clear();
+        }
+    }
+
     @Override
     protected Iterator<Traverser<S>> computerAlgorithm() throws NoSuchElementException {
         final Traverser.Admin<S> start = this.starts.next();
@@ -197,6 +329,22 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         return traversal;
     }
 
+    public static <A, B, C extends Traversal<A, B>> C addBreadthFirstToTraversal(final C traversal, final boolean filterVisited) {
+        final Step<?, B> step = traversal.asAdmin().getEndStep();
+        final RepeatStep<B> repeatStep;
+        if (step instanceof RepeatStep)
+            repeatStep = (RepeatStep<B>) step;
+        else {
+            repeatStep = new RepeatStep<>(traversal.asAdmin());
+            traversal.asAdmin().addStep(repeatStep);
+        }
+        if (filterVisited)
+            repeatStep.setFilterVisited(true);
+        else
+            repeatStep.setBreadthFirst(true);
+        return traversal;
+    }
+
     public static <A, B, C extends Traversal<A, B>> C addEmitToTraversal(final C traversal, final Traversal.Admin<B, ?> emitPredicate) {
         final Step<?, B> step = traversal.asAdmin().getEndStep();
         if (step instanceof RepeatStep && null == ((RepeatStep) step).emitTraversal) {
@@ -219,6 +367,8 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
 
         @Override
         protected Iterator<Traverser<S>> standardAlgorithm() throws NoSuchElementException {
+            if (RepeatStep.this.breadthFirst)
+                return this.breadthFirstAlgorithm();
             while (true) {
                 final Traverser.Admin<S> start = this.starts.next();
                 start.incrLoops(this.getId());
@@ -239,6 +389,33 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             }
         }
 
+        private Iterator<Traverser<S>> breadthFirstAlgorithm() throws NoSuchElementException {
+            while (true) {
+                final Traverser.Admin<S> start = this.starts.next();
+                if (RepeatStep.this.filterVisited) {
+                    if (RepeatStep.this.visited.containsKey(start.get())) {
+                        final Traverser.Admin<S> left = RepeatStep.this.visited.get(start.get());
+                        if (null != left)
+                            left.merge(start);
+                        continue;
+                    }
+                    RepeatStep.this.reached.putIfAbsent(start.get(), null);
+                }
+                start.incrLoops(this.getId());
+                if (doUntil(start, false)) {
+                    start.resetLoops();
+                    return IteratorUtils.of(start);
+                } else {
+                    RepeatStep.this.frontier.add(start);
+                    if (doEmit(start, false)) {
+                        final Traverser.Admin<S> emitSplit = start.split();
+                        emitSplit.resetLoops();
+                        return IteratorUtils.of(emitSplit);
+                    }
+                }
+            }
+        }
+
         @Override
         protected Iterator<Traverser<S>> computerAlgorithm() throws NoSuchElementException {
             final Traverser.Admin<S> start = this.starts.next();
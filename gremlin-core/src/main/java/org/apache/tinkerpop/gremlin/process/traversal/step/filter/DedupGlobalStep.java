@@ -22,22 +22,28 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.IdentityTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.DedupSet;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.DedupSpillStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 /**
+ * Filters the traversers whose (by-projected) object has already been seen. The seen objects are held in a
+ * {@link DedupSet} which spills to disk once it holds more objects than the spill threshold. The threshold is unbounded
+ * by default and is set per traversal source with the {@link DedupSpillStrategy}.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent {
 
     private Traversal.Admin<S, Object> dedupTraversal = new IdentityTraversal<>();
-    private Set<Object> duplicateSet = new HashSet<>();
+    private long spillThreshold = Long.MAX_VALUE;
+    private DedupSet duplicateSet = new DedupSet(this.spillThreshold);
 
     public DedupGlobalStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -50,6 +56,15 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     }
 
 
+    public void setSpillThreshold(final long spillThreshold) {
+        this.spillThreshold = spillThreshold;
+        this.duplicateSet = new DedupSet(spillThreshold);
+    }
+
+    public long getSpillThreshold() {
+        return this.spillThreshold;
+    }
+
     @Override
     public List<Traversal<S, Object>> getLocalChildren() {
         return Collections.singletonList(this.dedupTraversal);
@@ -63,7 +78,7 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     @Override
     public DedupGlobalStep<S> clone() {
         final DedupGlobalStep<S> clone = (DedupGlobalStep<S>) super.clone();
-        clone.duplicateSet = new HashSet<>();
+        clone.duplicateSet = new DedupSet(this.spillThreshold);
         clone.dedupTraversal = clone.integrateChild(this.dedupTraversal.clone());
         return clone;
     }
@@ -22,6 +22,8 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 
+import java.util.List;
+
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -41,5 +43,19 @@ public abstract class FilterStep<S> extends AbstractStep<S, S> {
         }
     }
 
+    @Override
+    public boolean supportsBatching() {
+        return isBatchable(this);
+    }
+
+    @Override
+    protected void processNextBatch(final List<Traverser.Admin<S>> batch) {
+        for (int i = 0; i < BATCH_SIZE && this.starts.hasNext(); i++) {
+            final Traverser.Admin<S> traverser = this.starts.next();
+            if (this.filter(traverser))
+                batch.add(traverser);
+        }
+    }
+
     protected abstract boolean filter(final Traverser.Admin<S> traverser);
 }
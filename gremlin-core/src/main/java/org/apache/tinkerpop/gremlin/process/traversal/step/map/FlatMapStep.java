@@ -24,6 +24,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
 
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -49,6 +50,26 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
         }
     }
 
+    @Override
+    public boolean supportsBatching() {
+        return isBatchable(this);
+    }
+
+    @Override
+    protected void processNextBatch(final List<Traverser.Admin<E>> batch) {
+        final int size = batch.size();
+        int heads = 0;
+        while (batch.size() - size < BATCH_SIZE) {
+            if (this.iterator.hasNext())
+                batch.add(this.head.split(this.iterator.next(), this));
+            else if (heads++ < BATCH_SIZE && this.starts.hasNext()) {
+                this.head = this.starts.next();
+                this.iterator = this.flatMap(this.head);
+            } else
+                return;
+        }
+    }
+
     protected abstract Iterator<E> flatMap(final Traverser.Admin<S> traverser);
 
     @Override
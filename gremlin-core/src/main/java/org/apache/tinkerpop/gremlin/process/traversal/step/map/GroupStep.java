@@ -33,6 +33,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.GroupReducer;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
@@ -49,6 +50,10 @@ import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
 /**
+ * If the reduce traversal is a known associative reduction (see {@link GroupReducer}), the values of each key are
+ * folded as they arrive and, in OLAP, are combined before they are sent to the reducers. Otherwise, the values of each
+ * key are collected into a {@link BulkSet} that is reduced once all the starts have been grouped.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class GroupStep<S, K, V, R> extends ReducingBarrierStep<S, Map<K, R>> implements MapReducer, TraversalParent {
@@ -58,6 +63,7 @@ public final class GroupStep<S, K, V, R> extends ReducingBarrierStep<S, Map<K, R
     private Traversal.Admin<S, K> keyTraversal = null;
     private Traversal.Admin<S, V> valueTraversal = null;
     private Traversal.Admin<Collection<V>, R> reduceTraversal = null;
+    private GroupReducer reducer = null;
 
     public GroupStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -81,6 +87,10 @@ public final class GroupStep<S, K, V, R> extends ReducingBarrierStep<S, Map<K, R
         return this.reduceTraversal;
     }
 
+    public GroupReducer getReducer() {
+        return this.reducer;
+    }
+
     @Override
     public void addLocalChild(final Traversal.Admin<?, ?> kvrTraversal) {
         if ('k' == this.state) {
@@ -91,6 +101,7 @@ public final class GroupStep<S, K, V, R> extends ReducingBarrierStep<S, Map<K, R
             this.state = 'r';
         } else if ('r' == this.state) {
             this.reduceTraversal = this.integrateChild(kvrTraversal);
+            this.reducer = GroupReducer.of(this.reduceTraversal);
             this.state = 'x';
         } else {
             throw new IllegalStateException("The key, value, and reduce functions for group()-step have already been set");
@@ -115,7 +126,7 @@ public final class GroupStep<S, K, V, R> extends ReducingBarrierStep<S, Map<K, R
     }
 
     @Override
-    public MapReduce<K, Collection<V>, K, R, Map<K, R>> getMapReduce() {
+    public MapReduce<K, Object, K, R, Map<K, R>> getMapReduce() {
         return new GroupMapReduce<>(this);
     }
 
@@ -137,37 +148,49 @@ public final class GroupStep<S, K, V, R> extends ReducingBarrierStep<S, Map<K, R
 
     ///////////
 
-    private class GroupBiFunction implements BiFunction<Map<K, Collection<V>>, Traverser.Admin<S>, Map<K, Collection<V>>>, Serializable {
+    private class GroupBiFunction implements BiFunction<Map<K, Object>, Traverser.Admin<S>, Map<K, Object>>, Serializable {
 
         private GroupBiFunction() {
 
         }
 
         @Override
-        public Map<K, Collection<V>> apply(final Map<K, Collection<V>> mutatingSeed, final Traverser.Admin<S> traverser) {
+        public Map<K, Object> apply(final Map<K, Object> mutatingSeed, final Traverser.Admin<S> traverser) {
             final K key = TraversalUtil.applyNullable(traverser, GroupStep.this.keyTraversal);
             final V value = TraversalUtil.applyNullable(traverser, GroupStep.this.valueTraversal);
-            Collection<V> values = mutatingSeed.get(key);
-            if (null == values) {
-                values = new BulkSet<>();
-                mutatingSeed.put(key, values);
+            if (null != GroupStep.this.reducer) {
+                GroupReducer.Partial partial = (GroupReducer.Partial) mutatingSeed.get(key);
+                if (null == partial) {
+                    partial = new GroupReducer.Partial();
+                    mutatingSeed.put(key, partial);
+                }
+                GroupStep.this.reducer.add(partial, value, traverser.bulk());
+            } else {
+                Collection<V> values = (Collection<V>) mutatingSeed.get(key);
+                if (null == values) {
+                    values = new BulkSet<>();
+                    mutatingSeed.put(key, values);
+                }
+                TraversalHelper.addToCollectionUnrollIterator(values, value, traverser.bulk());
             }
-            TraversalHelper.addToCollectionUnrollIterator(values, value, traverser.bulk());
             return mutatingSeed;
         }
     }
 
     //////////
 
-    private class GroupMap extends HashMap<K, Collection<V>> implements FinalGet<Map<K, R>> {
+    private class GroupMap extends HashMap<K, Object> implements FinalGet<Map<K, R>> {
 
         @Override
         public Map<K, R> getFinal() {
             if (null == GroupStep.this.reduceTraversal)
-                return (Map<K, R>) this;
+                return (Map<K, R>) (Map) this;
             else {
                 final Map<K, R> reduceMap = new HashMap<>();
-                this.forEach((k, vv) -> reduceMap.put(k, TraversalUtil.applyNullable(vv, GroupStep.this.reduceTraversal)));
+                if (null != GroupStep.this.reducer)
+                    this.forEach((k, partial) -> reduceMap.put(k, (R) GroupStep.this.reducer.getFinal((GroupReducer.Partial) partial)));
+                else
+                    this.forEach((k, vv) -> reduceMap.put(k, TraversalUtil.applyNullable((Collection<V>) vv, GroupStep.this.reduceTraversal)));
                 return reduceMap;
             }
         }
@@ -186,12 +209,18 @@ public final class GroupStep<S, K, V, R> extends ReducingBarrierStep<S, Map<K, R
 
     ///////////
 
-    public static final class GroupMapReduce<K, V, R> implements MapReduce<K, Collection<V>, K, R, Map<K, R>> {
+    /**
+     * If the group step has a {@link GroupReducer}, the map emits a {@link GroupReducer.Partial} per halted
+     * traverser, which the combiner and reducer merge. Otherwise, the map emits the values as collections and the
+     * reducer applies the reduce traversal to their union.
+     */
+    public static final class GroupMapReduce<K, V, R> implements MapReduce<K, Object, K, R, Map<K, R>> {
 
         public static final String GROUP_BY_STEP_STEP_ID = "gremlin.groupStep.stepId";
 
         private String groupStepId;
         private Traversal.Admin<Collection<V>, R> reduceTraversal;
+        private GroupReducer reducer;
 
         private GroupMapReduce() {
 
@@ -200,6 +229,7 @@ public final class GroupStep<S, K, V, R> extends ReducingBarrierStep<S, Map<K, R
         public GroupMapReduce(final GroupStep<?, K, V, R> step) {
             this.groupStepId = step.getId();
             this.reduceTraversal = step.getReduceTraversal();
+            this.reducer = step.getReducer();
         }
 
         @Override
@@ -216,18 +246,23 @@ public final class GroupStep<S, K, V, R> extends ReducingBarrierStep<S, Map<K, R
                 traversal.applyStrategies(); // TODO: this is a scary error prone requirement, but only a problem for GroupStep
             final GroupStep groupStep = new TraversalMatrix<>(traversal).getStepById(this.groupStepId);
             this.reduceTraversal = groupStep.getReduceTraversal();
+            this.reducer = groupStep.getReducer();
         }
 
         @Override
         public boolean doStage(final Stage stage) {
-            return !stage.equals(Stage.COMBINE);
+            return !stage.equals(Stage.COMBINE) || null != this.reducer;
         }
 
         @Override
-        public void map(final Vertex vertex, final MapEmitter<K, Collection<V>> emitter) {
+        public void map(final Vertex vertex, final MapEmitter<K, Object> emitter) {
             vertex.<TraverserSet<Object[]>>property(TraversalVertexProgram.HALTED_TRAVERSERS).ifPresent(traverserSet -> traverserSet.forEach(traverser -> {
                 final Object[] objects = traverser.get();
-                if (objects[1] instanceof Collection)
+                if (null != this.reducer) {
+                    final GroupReducer.Partial partial = new GroupReducer.Partial();
+                    this.reducer.add(partial, objects[1], traverser.bulk());
+                    emitter.emit((K) objects[0], partial);
+                } else if (objects[1] instanceof Collection)
                     emitter.emit((K) objects[0], (Collection<V>) objects[1]);
                 else {
                     final List<V> collection = new ArrayList<>();
@@ -238,10 +273,25 @@ public final class GroupStep<S, K, V, R> extends ReducingBarrierStep<S, Map<K, R
         }
 
         @Override
-        public void reduce(final K key, final Iterator<Collection<V>> values, final ReduceEmitter<K, R> emitter) {
-            final Set<V> set = new BulkSet<>();
-            values.forEachRemaining(set::addAll);
-            emitter.emit(key, TraversalUtil.applyNullable(set, this.reduceTraversal));
+        public void combine(final K key, final Iterator<Object> values, final ReduceEmitter<K, R> emitter) {
+            emitter.emit(key, (R) this.mergePartials(values));
+        }
+
+        @Override
+        public void reduce(final K key, final Iterator<Object> values, final ReduceEmitter<K, R> emitter) {
+            if (null != this.reducer)
+                emitter.emit(key, (R) this.reducer.getFinal(this.mergePartials(values)));
+            else {
+                final Set<V> set = new BulkSet<>();
+                values.forEachRemaining(collection -> set.addAll((Collection<V>) collection));
+                emitter.emit(key, TraversalUtil.applyNullable(set, this.reduceTraversal));
+            }
+        }
+
+        private GroupReducer.Partial mergePartials(final Iterator<Object> values) {
+            final GroupReducer.Partial partial = new GroupReducer.Partial();
+            values.forEachRemaining(other -> this.reducer.addAll(partial, (GroupReducer.Partial) other));
+            return partial;
         }
 
         @Override
@@ -24,6 +24,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -43,6 +44,19 @@ public abstract class MapStep<S, E> extends AbstractStep<S, E> {
         }
     }
 
+    @Override
+    public boolean supportsBatching() {
+        return isBatchable(this);
+    }
+
+    @Override
+    protected void processNextBatch(final List<Traverser.Admin<E>> batch) {
+        for (int i = 0; i < BATCH_SIZE && this.starts.hasNext(); i++) {
+            final Traverser.Admin<S> traverser = this.starts.next();
+            batch.add(traverser.split(this.map(traverser), this));
+        }
+    }
+
     protected abstract E map(final Traverser.Admin<S> traverser);
 
 }
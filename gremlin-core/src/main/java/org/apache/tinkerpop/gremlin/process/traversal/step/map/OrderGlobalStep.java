@@ -21,7 +21,9 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.OrderLimitStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
@@ -34,6 +36,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -43,6 +46,9 @@ import java.util.stream.Collectors;
 public final class OrderGlobalStep<S> extends CollectingBarrierStep<S> implements ComparatorHolder<S> {
 
     private final List<Comparator<S>> comparators = new ArrayList<>();
+    private long low = 0l;
+    private long high = -1l;
+    private TraverserSet<S> topTraversers = new TraverserSet<>();
 
     public OrderGlobalStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -50,7 +56,59 @@ public final class OrderGlobalStep<S> extends CollectingBarrierStep<S> implement
 
     @Override
     public void barrierConsumer(final TraverserSet<S> traverserSet) {
-        traverserSet.sort(this.comparators.isEmpty() ? new ComparatorTraverser(Order.incr) : new ChainedComparator(ComparatorTraverser.convertComparator((List) this.comparators)));
+        traverserSet.sort(this.traverserComparator());
+    }
+
+    /**
+     * If the step is bounded by a range, only the first {@code high} traversers (by bulk) are kept in a heap whose
+     * worst traverser is replaced as better traversers arrive. The step thus sorts in {@code O(n log k)} time and
+     * {@code O(k)} space. The range itself is still applied by the {@link RangeGlobalStep} that follows the step or, on
+     * {@code GraphComputer}, by the {@code TraverserMapReduce} of the traversal.
+     */
+    @Override
+    public Traverser<S> processNextStart() {
+        if (-1 == this.high)
+            return super.processNextStart();
+        if (this.starts.hasNext()) {
+            final Comparator<Traverser<S>> comparator = this.traverserComparator();
+            final PriorityQueue<Traverser.Admin<S>> heap = new PriorityQueue<>(11, (a, b) -> comparator.compare(b, a));
+            long count = 0l;
+            while (this.starts.hasNext()) {
+                final Traverser.Admin<S> traverser = this.starts.next();
+                if (count >= this.high && (heap.isEmpty() || comparator.compare(traverser, heap.peek()) >= 0))
+                    continue;
+                heap.add(traverser);
+                count = count + traverser.bulk();
+                while (count - heap.peek().bulk() >= this.high) {
+                    count = count - heap.poll().bulk();
+                }
+            }
+            final List<Traverser.Admin<S>> traversers = new ArrayList<>(heap);
+            Collections.sort(traversers, comparator);
+            traversers.forEach(this.topTraversers::add);
+        }
+        return this.topTraversers.remove();
+    }
+
+    /**
+     * Bound the step by the range of a directly following {@link RangeGlobalStep}. It is set by
+     * {@link OrderLimitStrategy}.
+     */
+    public void setRange(final long low, final long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    public long getLowRange() {
+        return this.low;
+    }
+
+    public long getHighRange() {
+        return this.high;
+    }
+
+    private Comparator<Traverser<S>> traverserComparator() {
+        return this.comparators.isEmpty() ? new ComparatorTraverser(Order.incr) : new ChainedComparator(ComparatorTraverser.convertComparator((List) this.comparators));
     }
 
     @Override
@@ -68,6 +126,19 @@ public final class OrderGlobalStep<S> extends CollectingBarrierStep<S> implement
         return TraversalHelper.makeStepString(this, this.comparators);
     }
 
+    @Override
+    public OrderGlobalStep<S> clone() {
+        final OrderGlobalStep<S> clone = (OrderGlobalStep<S>) super.clone();
+        clone.topTraversers = new TraverserSet<>();
+        return clone;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.topTraversers.clear();
+    }
+
     @Override
     public Set<TraverserRequirement> getRequirements() {
         return Collections.singleton(TraverserRequirement.OBJECT);
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map.match;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An Enumerator which joins the solutions of two other Enumerators on their shared variables by hashing.
+ * The right Enumerator is fully expanded once and its solutions are indexed by the values of the shared variables.
+ * The left Enumerator is then expanded lazily and each of its solutions is matched against the index.
+ * Unlike an {@link InnerJoinEnumerator} over a {@link CrossJoinEnumerator}, the Cartesian product of the two
+ * Enumerators is never visited.
+ *
+ * @author Joshua Shinavier (http://fortytwo.net)
+ */
+public class HashJoinEnumerator<T> implements Enumerator<T> {
+
+    private final Enumerator<T> left, right;
+    private final List<String> joinVariables;
+
+    private Map<List<T>, List<Integer>> rightIndex = null;
+    private int nextLeftIndex = 0;
+    private boolean leftExhausted = false;
+    // the left and right index of each solution found so far
+    private int[] solutions = new int[16];
+    private int size = 0;
+
+    private final Object[] joinValues;
+    private final BiConsumer<String, T> joinVisitor;
+
+    public HashJoinEnumerator(final Enumerator<T> left,
+                              final Enumerator<T> right,
+                              final Set<String> joinVariables) {
+        this.left = left;
+        this.right = right;
+        this.joinVariables = new ArrayList<>(joinVariables);
+        this.joinValues = new Object[joinVariables.size()];
+        this.joinVisitor = (name, value) -> {
+            final int i = this.joinVariables.indexOf(name);
+            if (-1 != i) this.joinValues[i] = value;
+        };
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean visitSolution(final int index,
+                                 final BiConsumer<String, T> visitor) {
+        while (index >= this.size) {
+            if (!this.advance())
+                return false;
+        }
+
+        if (!this.left.visitSolution(this.solutions[index << 1], visitor))
+            throw new IllegalStateException();
+        // the join variables have already been bound by the left solution
+        if (!this.right.visitSolution(this.solutions[(index << 1) + 1], (name, value) -> {
+            if (!this.joinVariables.contains(name)) visitor.accept(name, value);
+        })) throw new IllegalStateException();
+
+        return true;
+    }
+
+    // finds the solutions of the next left solution that joins with at least one right solution
+    private boolean advance() {
+        if (null == this.rightIndex)
+            this.buildRightIndex();
+        while (!this.leftExhausted) {
+            final int leftIndex = this.nextLeftIndex++;
+            final List<T> key = this.joinKey(this.left, leftIndex);
+            if (null == key) {
+                this.leftExhausted = true;
+                return false;
+            }
+            if (key.contains(null))
+                continue;
+            final List<Integer> rightIndices = this.rightIndex.getOrDefault(key, Collections.emptyList());
+            if (!rightIndices.isEmpty()) {
+                for (final int rightIndex : rightIndices) {
+                    this.addSolution(leftIndex, rightIndex);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void buildRightIndex() {
+        this.rightIndex = new HashMap<>();
+        for (int i = 0; ; i++) {
+            final List<T> key = this.joinKey(this.right, i);
+            if (null == key)
+                break;
+            if (!key.contains(null))
+                this.rightIndex.computeIfAbsent(key, k -> new ArrayList<>(1)).add(i);
+        }
+    }
+
+    // the values of the join variables of a solution or null if the solution does not exist
+    private List<T> joinKey(final Enumerator<T> enumerator, final int index) {
+        Arrays.fill(this.joinValues, null);
+        if (!enumerator.visitSolution(index, this.joinVisitor))
+            return null;
+        return (List<T>) Arrays.asList(Arrays.copyOf(this.joinValues, this.joinValues.length));
+    }
+
+    private void addSolution(final int leftIndex, final int rightIndex) {
+        if (this.solutions.length == this.size << 1)
+            this.solutions = Arrays.copyOf(this.solutions, this.solutions.length << 1);
+        this.solutions[this.size << 1] = leftIndex;
+        this.solutions[(this.size << 1) + 1] = rightIndex;
+        this.size++;
+    }
+}
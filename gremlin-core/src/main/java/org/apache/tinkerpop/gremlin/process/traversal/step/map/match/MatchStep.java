@@ -57,11 +57,18 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
     // optimize before processing each start object, by default
     private static final int DEFAULT_STARTS_PER_OPTIMIZE = 1;
 
+    // the number of observed inputs an estimated branch factor is worth
+    private static final double ESTIMATE_WEIGHT = 10.0;
+
+    // join shared variables by hashing once the right side of the join is expected to have more than one solution
+    private static final double HASH_JOIN_THRESHOLD = 1.0;
+
     private final String startLabel;
-    private final Map<String, List<TraversalWrapper<S, S>>> traversalsByStartAs;
-    private final List<Traversal> traversals = new ArrayList<>();
+    private Map<String, List<TraversalWrapper<S, S>>> traversalsByStartAs;
+    private List<Traversal> traversals = new ArrayList<>();
 
     private int startsPerOptimize = DEFAULT_STARTS_PER_OPTIMIZE;
+    private transient CardinalityEstimator cardinalityEstimator = null;
     private int optimizeCounter = -1;
     private int anonLabelCounter = 0;
 
@@ -94,6 +101,26 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
         return TraversalHelper.makeStepString(this, this.traversalsByStartAs);
     }
 
+    @Override
+    public MatchStep<S, E> clone() {
+        final MatchStep<S, E> clone = (MatchStep<S, E>) super.clone();
+        clone.traversalsByStartAs = new HashMap<>();
+        clone.traversals = new ArrayList<>();
+        clone.anonLabelCounter = 0;
+        clone.optimizeCounter = -1;
+        clone.currentSolution = null;
+        clone.currentStart = new B_O_S_SE_SL_Traverser<>(null, clone, 1l);
+        for (final Traversal traversal : this.traversals) {
+            final Traversal.Admin<S, S> clonedTraversal = traversal.asAdmin().clone();
+            clone.addTraversalPrivate(clonedTraversal);
+            clone.integrateChild(clonedTraversal);
+            clone.traversals.add(clonedTraversal);
+        }
+        if (null != this.cardinalityEstimator)
+            clone.setCardinalityEstimator(this.cardinalityEstimator);
+        return clone;
+    }
+
     /**
      * Adds an individual traversal to an already-constructed MatchStep.
      * The query must be solvable after addition (i.e. should not require the addition of
@@ -116,6 +143,27 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
         this.startsPerOptimize = startsPerOptimize;
     }
 
+    /**
+     * Sets the estimator of the branch factors of the match traversals. The estimates order the query plan before any
+     * statistics have been gathered and are outweighed by the statistics as starts are processed.
+     */
+    public void setCardinalityEstimator(final CardinalityEstimator cardinalityEstimator) {
+        this.cardinalityEstimator = cardinalityEstimator;
+        for (final List<TraversalWrapper<S, S>> wrappers : this.traversalsByStartAs.values()) {
+            for (final TraversalWrapper<S, S> wrapper : wrappers) {
+                if (null == cardinalityEstimator)
+                    wrapper.setEstimatedBranchFactor(1.0, 0.0);
+                else
+                    wrapper.setEstimatedBranchFactor(cardinalityEstimator.estimateBranchFactor(wrapper.getTraversal().asAdmin()), ESTIMATE_WEIGHT);
+            }
+        }
+        this.optimize();
+    }
+
+    public CardinalityEstimator getCardinalityEstimator() {
+        return this.cardinalityEstimator;
+    }
+
     @Override
     protected Traverser<Map<String, E>> processNextStart() throws NoSuchElementException {
         final Map<String, E> map = new HashMap<>();
@@ -294,7 +342,7 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
                     Set<String> rightLabels = new HashSet<>();
                     addVariables(w.endLabel, rightLabels);
                     Enumerator<S> ie = solveFor(w.endLabel, updater);
-                    result = null == result ? ie : crossJoin(result, ie, leftLabels, rightLabels);
+                    result = null == result ? ie : join(result, ie, leftLabels, rightLabels, findSolutions(w));
                     leftLabels.addAll(rightLabels);
                 }
 
@@ -303,10 +351,12 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
         }
     }
 
-    private static <T> Enumerator<T> crossJoin(final Enumerator<T> left,
-                                               final Enumerator<T> right,
-                                               final Set<String> leftLabels,
-                                               final Set<String> rightLabels) {
+    // joins with a nested loop unless there are shared variables and the right side is expected to be large
+    private static <T> Enumerator<T> join(final Enumerator<T> left,
+                                          final Enumerator<T> right,
+                                          final Set<String> leftLabels,
+                                          final Set<String> rightLabels,
+                                          final double rightSolutions) {
         Set<String> shared = new HashSet<>();
         for (String s : rightLabels) {
             if (leftLabels.contains(s)) {
@@ -314,8 +364,24 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
             }
         }
 
-        Enumerator<T> cj = new CrossJoinEnumerator<>(left, right);
-        return shared.size() > 0 ? new InnerJoinEnumerator<>(cj, shared) : cj;
+        if (shared.isEmpty())
+            return new CrossJoinEnumerator<>(left, right);
+        else if (rightSolutions > HASH_JOIN_THRESHOLD)
+            return new HashJoinEnumerator<>(left, right, shared);
+        else
+            return new InnerJoinEnumerator<>(new CrossJoinEnumerator<>(left, right), shared);
+    }
+
+    // the expected number of solutions of the branch of the query plan rooted at the traversal, per start
+    private double findSolutions(final TraversalWrapper<S, S> root) {
+        double solutions = root.findBranchFactor();
+        List<TraversalWrapper<S, S>> outs = traversalsByStartAs.get(root.endLabel);
+        if (null != outs) {
+            for (TraversalWrapper<S, S> child : outs) {
+                solutions *= findSolutions(child);
+            }
+        }
+        return solutions;
     }
 
     // recursively add all non-anonymous variables from a starting point in the query
@@ -404,6 +470,13 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
         return this.traversals;
     }
 
+    /**
+     * Estimates the number of objects a match traversal emits per start, typically from the statistics of the graph.
+     */
+    public interface CardinalityEstimator {
+        public double estimateBranchFactor(final Traversal.Admin<?, ?> traversal);
+    }
+
     /**
      * A wrapper for a traversal in a query which maintains statistics about the traversal as
      * it consumes inputs and produces outputs.
@@ -418,6 +491,8 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
         private final String startLabel, endLabel;
         private int totalInputs = 0;
         private int totalOutputs = 0;
+        private double estimatedBranchFactor = 1.0;
+        private double estimateWeight = 0.0;
         private double orderingFactor;
 
         public TraversalWrapper(final Traversal<A, B> traversal,
@@ -436,10 +511,20 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
             this.totalOutputs += outputs;
         }
 
+        /**
+         * Sets the branch factor of the traversal prior to any inputs, worth the given number of inputs.
+         */
+        public void setEstimatedBranchFactor(final double estimatedBranchFactor, final double estimateWeight) {
+            this.estimatedBranchFactor = estimatedBranchFactor;
+            this.estimateWeight = estimateWeight;
+        }
+
         // TODO: take variance into account, to avoid penalizing traversals for early encounters with super-inputs,
         // or simply for never having been tried
         public double findBranchFactor() {
-            return 0 == this.totalInputs ? 1 : this.totalOutputs / ((double) this.totalInputs);
+            return 0 == this.totalInputs + this.estimateWeight ?
+                    this.estimatedBranchFactor :
+                    (this.totalOutputs + this.estimatedBranchFactor * this.estimateWeight) / (this.totalInputs + this.estimateWeight);
         }
 
         @Override
@@ -21,11 +21,15 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
@@ -35,12 +39,18 @@ import java.util.Set;
  */
 public abstract class AbstractStep<S, E> implements Step<S, E> {
 
+    /**
+     * The maximum number of starts a step processes per call to {@link #processNextBatch}.
+     */
+    public static final int BATCH_SIZE = 128;
+
     protected Set<String> labels = new LinkedHashSet<>();
     protected String id = Traverser.Admin.HALT;
     protected Traversal.Admin traversal;
     protected ExpandableStepIterator<S> starts;
     protected Traverser<E> nextEnd = null;
     protected boolean traverserStepIdSetByChild = false; // TODO: Step.teleport(traverser, step)
+    protected boolean batching = false;
 
     protected Step<?, S> previousStep = EmptyStep.instance();
     protected Step<E, ?> nextStep = EmptyStep.instance();
@@ -156,6 +166,76 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     protected abstract Traverser<E> processNextStart() throws NoSuchElementException;
 
+    /**
+     * Whether this step can process its starts in batches via {@link #processNextBatch} without the processing ahead
+     * of its next step being observable. The {@code BatchingStrategy} only enables batching for such steps.
+     */
+    public boolean supportsBatching() {
+        return false;
+    }
+
+    /**
+     * Whether the next step pulls the traversers of this step a batch at a time rather than one at a time via
+     * {@link #next}.
+     */
+    public boolean isBatching() {
+        return this.batching;
+    }
+
+    public void setBatching(final boolean batching) {
+        this.batching = batching;
+    }
+
+    /**
+     * Processes up to {@link #BATCH_SIZE} starts and adds the resultant traversers to the batch. By default, the
+     * starts are processed one at a time via {@link #processNextStart}.
+     */
+    protected void processNextBatch(final List<Traverser.Admin<E>> batch) throws NoSuchElementException {
+        for (int i = 0; i < BATCH_SIZE && this.starts.hasNext(); i++) {
+            batch.add((Traverser.Admin<E>) this.processNextStart());
+        }
+    }
+
+    /**
+     * Adds the next batch of traversers of this step to the provided list and prepares them for the next step.
+     *
+     * @return whether any traversers were added to the batch
+     */
+    protected boolean nextBatch(final List<Traverser.Admin<E>> batch) {
+        final int size = batch.size();
+        if (null != this.nextEnd) {
+            batch.add((Traverser.Admin<E>) this.nextEnd);
+            this.nextEnd = null;
+        }
+        try {
+            do {
+                this.processNextBatch(batch);
+            } while (batch.size() == size && this.starts.hasNext());
+        } catch (final NoSuchElementException e) {
+            if (batch.size() == size)
+                throw e;
+        }
+        int end = size;
+        for (int i = size; i < batch.size(); i++) {
+            final Traverser<E> traverser = batch.get(i);
+            if (0 != traverser.bulk())
+                batch.set(end++, (Traverser.Admin<E>) this.prepareTraversalForNextStep(traverser));
+        }
+        while (batch.size() > end) {
+            batch.remove(batch.size() - 1);
+        }
+        return end > size;
+    }
+
+    /**
+     * Determines whether processing the starts of the step ahead of its next step could not be observed. That is,
+     * the step does not mutate the graph, does not hold user lambdas and does not access side-effects.
+     */
+    protected static boolean isBatchable(final Step<?, ?> step) {
+        return !(step instanceof Mutating || step instanceof LambdaHolder) &&
+                !step.getRequirements().contains(TraverserRequirement.SIDE_EFFECTS);
+    }
+
     public String toString() {
         return TraversalHelper.makeStepString(this);
     }
@@ -18,32 +18,33 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 
+import org.apache.tinkerpop.gremlin.process.traversal.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.LinkedObjectLongMap;
+
 import java.io.Serializable;
 import java.util.AbstractSet;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
 
 /**
  * BulkSet is a weighted set (i.e. a multi-set). Objects are added along with a bulk counter the denotes how many times the object was added to the set.
  * Given that count-based compression (vs. enumeration) can yield large sets, methods exist that are long-based (2^64).
+ * The bulks are primitive longs held in a {@link LinkedObjectLongMap} and their sum is maintained on every update.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializable {
-    private final Map<S, Long> map = new LinkedHashMap<>();
+    private final LinkedObjectLongMap<S> map = new LinkedObjectLongMap<>();
+    private long longSize = 0l;
 
     @Override
     public int size() {
-        return (int) this.longSize();
+        return (int) this.longSize;
     }
 
     public int uniqueSize() {
@@ -51,7 +52,7 @@ public class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializable {
     }
 
     public long longSize() {
-        return this.map.values().stream().collect(Collectors.summingLong(Long::longValue));
+        return this.longSize;
     }
 
     @Override
@@ -61,7 +62,7 @@ public class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializable {
 
     @Override
     public boolean contains(final Object s) {
-        return this.map.containsKey(s);
+        return -1 != this.map.indexOf(s);
     }
 
     @Override
@@ -72,7 +73,10 @@ public class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializable {
     @Override
     public boolean addAll(final Collection<? extends S> collection) {
         if (collection instanceof BulkSet) {
-            ((BulkSet<S>) collection).map.forEach(this::add);
+            final LinkedObjectLongMap<S> other = ((BulkSet<S>) collection).map;
+            for (int i = other.first(); i != -1; i = other.next(i)) {
+                this.add(other.keyAt(i), other.valueAt(i));
+            }
         } else {
             collection.iterator().forEachRemaining(this::add);
         }
@@ -80,43 +84,40 @@ public class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializable {
     }
 
     public void forEach(final BiConsumer<S, Long> consumer) {
-        this.map.forEach(consumer);
+        for (int i = this.map.first(); i != -1; i = this.map.next(i)) {
+            consumer.accept(this.map.keyAt(i), this.map.valueAt(i));
+        }
     }
 
     public boolean add(final S s, final long bulk) {
-        final Long current = this.map.get(s);
-        if (current != null) {
-            this.map.put(s, current + bulk);
-            return false;
-        } else {
-            this.map.put(s, bulk);
-            return true;
-        }
+        this.longSize = this.longSize + bulk;
+        return this.map.add(s, bulk);
     }
 
     public long get(final S s) {
-        final Long bulk = this.map.get(s);
-        return null == bulk ? 0 : bulk;
+        final int index = this.map.indexOf(s);
+        return -1 == index ? 0 : this.map.valueAt(index);
     }
 
-    /*public void set(final S s, final long bulk) {
-        this.map.remove(s);
-        this.map.put(s, bulk);
-    }*/
-
     @Override
     public boolean remove(final Object s) {
-        return this.map.remove(s) != null;
+        final int index = this.map.indexOf(s);
+        if (-1 == index)
+            return false;
+        this.longSize = this.longSize - this.map.valueAt(index);
+        this.map.removeAt(index);
+        return true;
     }
 
     @Override
     public void clear() {
         this.map.clear();
+        this.longSize = 0l;
     }
 
     @Override
     public Spliterator<S> spliterator() {
-        return this.toList().spliterator();
+        return Spliterators.spliterator(this.iterator(), this.longSize, Spliterator.ORDERED | Spliterator.SIZED);
     }
 
     @Override
@@ -124,7 +125,7 @@ public class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializable {
         Objects.requireNonNull(collection);
         boolean modified = false;
         for (final Object object : collection) {
-            if (null != this.map.remove(object))
+            if (this.remove(object))
                 modified = true;
         }
         return modified;
@@ -132,12 +133,24 @@ public class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializable {
 
     @Override
     public int hashCode() {
-        return this.map.hashCode();
+        int hashCode = 0;
+        for (int i = this.map.first(); i != -1; i = this.map.next(i)) {
+            hashCode = hashCode + (Objects.hashCode(this.map.keyAt(i)) ^ Long.hashCode(this.map.valueAt(i)));
+        }
+        return hashCode;
     }
 
     @Override
     public boolean equals(final Object object) {
-        return this.map.equals(object);
+        if (this == object)
+            return true;
+        if (!(object instanceof BulkSet) || ((BulkSet) object).map.size() != this.map.size() || ((BulkSet) object).longSize != this.longSize)
+            return false;
+        for (int i = this.map.first(); i != -1; i = this.map.next(i)) {
+            if (((BulkSet) object).get(this.map.keyAt(i)) != this.map.valueAt(i))
+                return false;
+        }
+        return true;
     }
 
     @Override
@@ -145,41 +158,28 @@ public class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializable {
         return this.map.toString();
     }
 
-    private List<S> toList() {
-        final List<S> list = new ArrayList<>();
-        this.map.forEach((k, v) -> {
-            for (long i = 0; i < v; i++) {
-                list.add(k);
-            }
-        });
-        return list;
-    }
-
     @Override
     public Iterator<S> iterator() {
         return new Iterator<S>() {
-            final Iterator<Map.Entry<S, Long>> entryIterator = map.entrySet().iterator();
-            S lastObject = null;
-            long lastCount = 0l;
+            int index = map.first();
+            long remaining = -1 == this.index ? 0l : map.valueAt(this.index);
 
+            @Override
             public boolean hasNext() {
-                return this.lastCount > 0l || this.entryIterator.hasNext();
+                while (this.remaining <= 0l) {
+                    if (-1 == this.index || -1 == (this.index = map.next(this.index)))
+                        return false;
+                    this.remaining = map.valueAt(this.index);
+                }
+                return true;
             }
 
             @Override
             public S next() {
-                if (this.lastCount > 0l) {
-                    this.lastCount--;
-                    return this.lastObject;
-                }
-                final Map.Entry<S, Long> entry = entryIterator.next();
-                if (entry.getValue() == 1) {
-                    return entry.getKey();
-                } else {
-                    this.lastObject = entry.getKey();
-                    this.lastCount = entry.getValue() - 1;
-                    return this.lastObject;
-                }
+                if (!this.hasNext())
+                    throw FastNoSuchElementException.instance();
+                this.remaining--;
+                return map.keyAt(this.index);
             }
         };
     }
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CompactPath is an immutable {@link Path} whose objects are held in segments of arrays that are shared by the paths
+ * that extend one another. The first path to extend a path of size {@code n} claims slot {@code n} of its segment and
+ * any other extension of the same path (i.e. a branch) starts a small segment of its own whose parent is the segment
+ * of the branched path. As such, a path is a pair of a segment and a size, a branch does not copy the prefix of the
+ * path and extending a path does not allocate beyond the path itself unless the segment is full or the path branches.
+ * {@link #get(int)} walks one segment per branch (or full segment) on the path.
+ * <p/>
+ * Steps without labels (the common case) do not allocate a label set. The labels of each step are further summarized
+ * as a bitset of their hash codes so that {@link #hasLabel(String)} and {@link #get(String)} only inspect the label
+ * sets of the steps that may have the label. A label set is never mutated once it is in a segment as it is visible to
+ * every path that extends the step: {@link #addLabel(String)} replaces it with a copy and {@link #labels()} returns
+ * copies as the paths built from them (e.g. {@code DetachedPath}) add labels to the sets they are given.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class CompactPath implements Path, Serializable, Cloneable {
+
+    private static final CompactPath EMPTY_PATH = new CompactPath(new Segment(null, 0, 0), 0);
+
+    private final Segment segment;
+    private final int size;
+
+    private CompactPath(final Segment segment, final int size) {
+        this.segment = segment;
+        this.size = size;
+    }
+
+    public static Path make() {
+        return EMPTY_PATH;
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone,CloneDoesntDeclareCloneNotSupportedException")
+    @Override
+    public CompactPath clone() {
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Path extend(final Object object, final Set<String> labels) {
+        final Segment segment;
+        if (this.segment.claim(this.size))
+            segment = this.segment;
+        else {
+            // a branch or a full segment starts a segment of its own after the prefix
+            segment = new Segment(this.segment, this.size, this.segment.isFull(this.size) ? Math.max(4, this.segment.objects.length << 1) : 4);
+            segment.length.set(1);
+        }
+        final int slot = this.size - segment.offset;
+        segment.objects[slot] = object;
+        if (!labels.isEmpty()) {
+            segment.labels[slot] = new LinkedHashSet<>(labels);
+            segment.labelBits[slot] = bits(labels);
+        }
+        return new CompactPath(segment, this.size + 1);
+    }
+
+    @Override
+    public <A> A get(final int index) {
+        if (index < 0 || index >= this.size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        Segment segment = this.segment;
+        while (index < segment.offset) {
+            segment = segment.parent;
+        }
+        return (A) segment.objects[index - segment.offset];
+    }
+
+    @Override
+    public <A> A get(final String label) throws IllegalArgumentException {
+        final long bit = bit(label);
+        final List<Object> objects = new ArrayList<>(2);
+        // segments are walked from the head, so the objects are collected in reverse order
+        int end = this.size;
+        for (Segment segment = this.segment; null != segment; end = segment.offset, segment = segment.parent) {
+            for (int i = end - segment.offset - 1; i >= 0; i--) {
+                if (0 != (segment.labelBits[i] & bit) && segment.labels[i].contains(label))
+                    objects.add(segment.objects[i]);
+            }
+        }
+        if (objects.isEmpty())
+            throw Path.Exceptions.stepWithProvidedLabelDoesNotExist(label);
+        if (1 == objects.size())
+            return (A) objects.get(0);
+        Collections.reverse(objects);
+        return (A) objects;
+    }
+
+    @Override
+    public boolean hasLabel(final String label) {
+        final long bit = bit(label);
+        int end = this.size;
+        for (Segment segment = this.segment; null != segment; end = segment.offset, segment = segment.parent) {
+            for (int i = end - segment.offset - 1; i >= 0; i--) {
+                if (0 != (segment.labelBits[i] & bit) && segment.labels[i].contains(label))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void addLabel(final String label) {
+        if (0 == this.size)
+            throw new UnsupportedOperationException("An empty path can not have labels added to it");
+        final int head = this.size - 1 - this.segment.offset;
+        final Set<String> labels = this.segment.labels[head];
+        if (null != labels && labels.contains(label))
+            return;
+        final Set<String> copy = null == labels ? new LinkedHashSet<>() : new LinkedHashSet<>(labels);
+        copy.add(label);
+        this.segment.labels[head] = copy;
+        this.segment.labelBits[head] |= bit(label);
+    }
+
+    @Override
+    public List<Object> objects() {
+        final Object[] objects = new Object[this.size];
+        int end = this.size;
+        for (Segment segment = this.segment; null != segment; end = segment.offset, segment = segment.parent) {
+            System.arraycopy(segment.objects, 0, objects, segment.offset, end - segment.offset);
+        }
+        return Collections.unmodifiableList(Arrays.asList(objects));
+    }
+
+    @Override
+    public List<Set<String>> labels() {
+        final Set<String>[] labels = new Set[this.size];
+        int end = this.size;
+        for (Segment segment = this.segment; null != segment; end = segment.offset, segment = segment.parent) {
+            for (int i = end - segment.offset - 1; i >= 0; i--) {
+                labels[segment.offset + i] = null == segment.labels[i] ? new LinkedHashSet<>() : new LinkedHashSet<>(segment.labels[i]);
+            }
+        }
+        return Collections.unmodifiableList(Arrays.asList(labels));
+    }
+
+    @Override
+    public boolean isSimple() {
+        final List<Object> objects = this.objects();
+        for (int i = 0; i < this.size - 1; i++) {
+            for (int j = i + 1; j < this.size; j++) {
+                if (objects.get(i).equals(objects.get(j)))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return this.objects().toString();
+    }
+
+    /**
+     * Only serialize the slots of this path and not those of the paths that share its segments.
+     */
+    private Object writeReplace() {
+        final Segment flat = new Segment(null, 0, this.size);
+        int end = this.size;
+        for (Segment segment = this.segment; null != segment; end = segment.offset, segment = segment.parent) {
+            System.arraycopy(segment.objects, 0, flat.objects, segment.offset, end - segment.offset);
+            System.arraycopy(segment.labels, 0, flat.labels, segment.offset, end - segment.offset);
+            System.arraycopy(segment.labelBits, 0, flat.labelBits, segment.offset, end - segment.offset);
+        }
+        flat.length.set(this.size);
+        return new CompactPath(flat, this.size);
+    }
+
+    private static long bit(final String label) {
+        return 1l << (label.hashCode() & 63);
+    }
+
+    private static long bits(final Set<String> labels) {
+        long bits = 0l;
+        for (final String label : labels) {
+            bits = bits | bit(label);
+        }
+        return bits;
+    }
+
+    /**
+     * The arrays shared by the paths that extend one another from {@code offset}, where the first {@code offset}
+     * objects of these paths are in the parent segments. The length is the number of claimed slots.
+     */
+    private static final class Segment implements Serializable {
+
+        private final Segment parent;
+        private final int offset;
+        private final Object[] objects;
+        private final Set<String>[] labels;
+        private final long[] labelBits;
+        private final AtomicInteger length = new AtomicInteger(0);
+
+        private Segment(final Segment parent, final int offset, final int capacity) {
+            this.parent = parent;
+            this.offset = offset;
+            this.objects = new Object[capacity];
+            this.labels = new Set[capacity];
+            this.labelBits = new long[capacity];
+        }
+
+        private boolean claim(final int size) {
+            final int slot = size - this.offset;
+            return slot < this.objects.length && this.length.compareAndSet(slot, slot + 1);
+        }
+
+        private boolean isFull(final int size) {
+            return size - this.offset >= this.objects.length;
+        }
+    }
+}
@@ -0,0 +1,411 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongOpenHashSet;
+import com.carrotsearch.hppc.cursors.LongCursor;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+import org.apache.tinkerpop.gremlin.util.Serializer;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DedupSet is an add-only set used to filter duplicate objects. Vertices and edges with {@code long} identifiers are
+ * stored by identifier in primitive sets and all other objects are stored in a {@code HashSet}.
+ * <p/>
+ * Once the set holds more than the spill threshold, its objects are spilled to a new generation file in a temporary
+ * directory and the heap only holds the objects added since the last spill. A generation file is hash partitioned and
+ * has its own bloom filter, sized for the objects of the generation. Every generation uses one more hash function
+ * than the previous one so that the false positive rates of all generations sum to less than that of the first. An
+ * object is only looked up in the partitions of the generations whose bloom filter can not rule it out. The partitions
+ * read back are cached until they hold more objects than the spill threshold. Objects that are not
+ * {@link Serializable} are never spilled. Spilled elements are stored as reference elements.
+ * <p/>
+ * The spill files are deleted by {@link #clear()}. The spill files of a set that is garbage collected without being
+ * cleared are deleted when the next set spills.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public final class DedupSet implements Serializable {
+
+    private static final int PARTITIONS = 64;
+    private static final int BLOOM_HASHES = 4;
+    private static final int MAX_BLOOM_HASHES = 24;
+    private static final long MAX_BLOOM_BITS = 1l << 28;
+
+    private static final byte OBJECT = 0;
+    private static final byte VERTEX_ID = 1;
+    private static final byte EDGE_ID = 2;
+
+    /**
+     * The spill directories of the sets that may not have been cleared, which are enqueued once their set is
+     * garbage collected.
+     */
+    private static final ReferenceQueue<DedupSet> COLLECTED_SETS = new ReferenceQueue<>();
+    private static final Set<SpillReference> SPILL_REFERENCES = ConcurrentHashMap.newKeySet();
+
+    private final long spillThreshold;
+
+    private transient LongOpenHashSet vertexIds;
+    private transient LongOpenHashSet edgeIds;
+    private transient Set<Object> objects;
+    private transient Set<Object> unspillableObjects;
+
+    private transient File spillDirectory;
+    private transient SpillReference spillReference;
+    private transient List<Generation> generations;
+    private transient Map<Integer, Partition> cachedPartitions;
+    private transient long cachedSize;
+
+    public DedupSet() {
+        this(Long.MAX_VALUE);
+    }
+
+    public DedupSet(final long spillThreshold) {
+        if (spillThreshold < 1)
+            throw new IllegalArgumentException("The spill threshold must be at least 1: " + spillThreshold);
+        this.spillThreshold = spillThreshold;
+    }
+
+    /**
+     * Add the object to the set.
+     *
+     * @return {@code true} if the object was not already in the set
+     */
+    public boolean add(final Object object) {
+        if (null == this.objects)
+            this.initialize();
+        final byte type = type(object);
+        final long id = OBJECT == type ? 0l : (Long) ((Element) object).id();
+        final int hash = OBJECT == type ? spread(null == object ? 0 : object.hashCode()) : hash(type, id);
+        if (null != this.spillDirectory && this.isSpilled(type, id, object, hash))
+            return false;
+        final boolean added;
+        if (VERTEX_ID == type)
+            added = this.vertexIds.add(id);
+        else if (EDGE_ID == type)
+            added = this.edgeIds.add(id);
+        else
+            added = !this.unspillableObjects.contains(object) && this.objects.add(object);
+        if (added && this.heapSize() > this.spillThreshold)
+            this.spill();
+        return added;
+    }
+
+    public boolean isSpilled() {
+        return null != this.spillDirectory;
+    }
+
+    /**
+     * The number of generations spilled to disk.
+     */
+    public int getGenerations() {
+        return null == this.generations ? 0 : this.generations.size();
+    }
+
+    File getSpillDirectory() {
+        return this.spillDirectory;
+    }
+
+    public void clear() {
+        this.deleteSpillDirectory();
+        this.initialize();
+    }
+
+    private void deleteSpillDirectory() {
+        if (null != this.spillDirectory) {
+            this.spillReference.delete();
+            this.spillDirectory = null;
+            this.spillReference = null;
+        }
+    }
+
+    private void createSpillDirectory() throws IOException {
+        SpillReference collected;
+        while (null != (collected = (SpillReference) COLLECTED_SETS.poll())) {
+            collected.delete();
+        }
+        this.spillDirectory = Files.createTempDirectory("gremlin-dedup").toFile();
+        this.spillReference = new SpillReference(this, this.spillDirectory);
+    }
+
+    private void initialize() {
+        this.vertexIds = new LongOpenHashSet();
+        this.edgeIds = new LongOpenHashSet();
+        this.objects = new HashSet<>();
+        this.unspillableObjects = new HashSet<>();
+        this.spillDirectory = null;
+        this.generations = new ArrayList<>();
+        this.cachedPartitions = new LinkedHashMap<>(16, 0.75f, true);
+        this.cachedSize = 0l;
+    }
+
+    private long heapSize() {
+        return this.vertexIds.size() + this.edgeIds.size() + this.objects.size();
+    }
+
+    private static byte type(final Object object) {
+        if (object instanceof Element && ((Element) object).id() instanceof Long) {
+            if (object instanceof Vertex)
+                return VERTEX_ID;
+            else if (object instanceof Edge)
+                return EDGE_ID;
+        }
+        return OBJECT;
+    }
+
+    private static int hash(final byte type, final long id) {
+        return spread(Long.hashCode(id) * 31 + type);
+    }
+
+    private static int spread(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int partition(final int hash) {
+        return (hash >>> 8) % PARTITIONS;
+    }
+
+    ////////////////
+
+    private boolean isSpilled(final byte type, final long id, final Object object, final int hash) {
+        final int partition = partition(hash);
+        for (int i = this.generations.size() - 1; i >= 0; i--) {
+            if (this.generations.get(i).mightContain(hash)) {
+                final Partition cached = this.getPartition(i, partition);
+                if (VERTEX_ID == type ? cached.vertexIds.contains(id) : EDGE_ID == type ? cached.edgeIds.contains(id) : cached.objects.contains(object))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private Partition getPartition(final int generation, final int partition) {
+        final Integer key = generation * PARTITIONS + partition;
+        Partition cached = this.cachedPartitions.get(key);
+        if (null == cached) {
+            cached = this.generations.get(generation).readPartition(partition);
+            this.cachedPartitions.put(key, cached);
+            this.cachedSize = this.cachedSize + cached.size();
+            final Iterator<Partition> iterator = this.cachedPartitions.values().iterator();
+            while (this.cachedSize > this.spillThreshold && this.cachedPartitions.size() > 1) {
+                this.cachedSize = this.cachedSize - iterator.next().size();
+                iterator.remove();
+            }
+        }
+        return cached;
+    }
+
+    private void spill() {
+        final LongArrayList[] vertexIds = new LongArrayList[PARTITIONS];
+        final LongArrayList[] edgeIds = new LongArrayList[PARTITIONS];
+        final List<Object>[] objects = new List[PARTITIONS];
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            vertexIds[partition] = new LongArrayList();
+            edgeIds[partition] = new LongArrayList();
+            objects[partition] = new ArrayList<>();
+        }
+        final int hashes = Math.min(MAX_BLOOM_HASHES, BLOOM_HASHES + this.generations.size());
+        final long bits = Math.min(MAX_BLOOM_BITS, (long) Math.ceil(this.heapSize() * hashes / Math.log(2)));
+        final long[] bloom = new long[(int) (bits >>> 6) + 1];
+        for (final LongCursor cursor : this.vertexIds) {
+            final int hash = hash(VERTEX_ID, cursor.value);
+            addToBloom(bloom, hashes, hash);
+            vertexIds[partition(hash)].add(cursor.value);
+        }
+        for (final LongCursor cursor : this.edgeIds) {
+            final int hash = hash(EDGE_ID, cursor.value);
+            addToBloom(bloom, hashes, hash);
+            edgeIds[partition(hash)].add(cursor.value);
+        }
+        for (final Object object : this.objects) {
+            objects[partition(spread(null == object ? 0 : object.hashCode()))].add(object);
+        }
+        try {
+            if (null == this.spillDirectory)
+                this.createSpillDirectory();
+            final File file = new File(this.spillDirectory, "generation-" + this.generations.size());
+            final long[] offsets = new long[PARTITIONS + 1];
+            try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+                long offset = 0l;
+                for (int partition = 0; partition < PARTITIONS; partition++) {
+                    offsets[partition] = offset;
+                    offset = offset + writeIds(output, VERTEX_ID, vertexIds[partition]) + writeIds(output, EDGE_ID, edgeIds[partition]);
+                    for (final Object object : objects[partition]) {
+                        final byte[] bytes;
+                        try {
+                            bytes = Serializer.serializeObject(object instanceof Element ? ReferenceFactory.detach((Element) object) : object);
+                        } catch (final NotSerializableException e) {
+                            this.unspillableObjects.add(object);
+                            continue;
+                        }
+                        output.writeByte(OBJECT);
+                        output.writeInt(bytes.length);
+                        output.write(bytes);
+                        offset = offset + 5 + bytes.length;
+                        addToBloom(bloom, hashes, spread(null == object ? 0 : object.hashCode()));
+                    }
+                }
+                offsets[PARTITIONS] = offset;
+            }
+            this.generations.add(new Generation(file, offsets, bloom, hashes));
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        this.vertexIds = new LongOpenHashSet();
+        this.edgeIds = new LongOpenHashSet();
+        this.objects = new HashSet<>();
+    }
+
+    private static long writeIds(final DataOutputStream output, final byte type, final LongArrayList ids) throws IOException {
+        for (final LongCursor cursor : ids) {
+            output.writeByte(type);
+            output.writeLong(cursor.value);
+        }
+        return 9l * ids.size();
+    }
+
+    private static void addToBloom(final long[] bloom, final int hashes, final int hash) {
+        final long bits = (long) bloom.length << 6;
+        final int second = spread(hash ^ 0x5bd1e995);
+        for (int i = 0; i < hashes; i++) {
+            final long bit = ((hash + (long) i * second) & Long.MAX_VALUE) % bits;
+            bloom[(int) (bit >>> 6)] |= 1l << bit;
+        }
+    }
+
+    /**
+     * The objects of a single spill. The partitions of the generation file are written one after the other and the
+     * offsets locate them in the file.
+     */
+    private static final class Generation {
+
+        private final File file;
+        private final long[] offsets;
+        private final long[] bloom;
+        private final int hashes;
+
+        private Generation(final File file, final long[] offsets, final long[] bloom, final int hashes) {
+            this.file = file;
+            this.offsets = offsets;
+            this.bloom = bloom;
+            this.hashes = hashes;
+        }
+
+        private boolean mightContain(final int hash) {
+            final long bits = (long) this.bloom.length << 6;
+            final int second = spread(hash ^ 0x5bd1e995);
+            for (int i = 0; i < this.hashes; i++) {
+                final long bit = ((hash + (long) i * second) & Long.MAX_VALUE) % bits;
+                if (0 == (this.bloom[(int) (bit >>> 6)] & (1l << bit)))
+                    return false;
+            }
+            return true;
+        }
+
+        private Partition readPartition(final int partition) {
+            final Partition cached = new Partition();
+            final byte[] bytes = new byte[(int) (this.offsets[partition + 1] - this.offsets[partition])];
+            try {
+                try (final RandomAccessFile input = new RandomAccessFile(this.file, "r")) {
+                    input.seek(this.offsets[partition]);
+                    input.readFully(bytes);
+                }
+                final DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+                while (input.available() > 0) {
+                    final byte type = input.readByte();
+                    if (VERTEX_ID == type)
+                        cached.vertexIds.add(input.readLong());
+                    else if (EDGE_ID == type)
+                        cached.edgeIds.add(input.readLong());
+                    else {
+                        final byte[] object = new byte[input.readInt()];
+                        input.readFully(object);
+                        cached.objects.add(Serializer.deserializeObject(object));
+                    }
+                }
+            } catch (final IOException | ClassNotFoundException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            return cached;
+        }
+    }
+
+    private static final class Partition {
+
+        private final LongOpenHashSet vertexIds = new LongOpenHashSet();
+        private final LongOpenHashSet edgeIds = new LongOpenHashSet();
+        private final Set<Object> objects = new HashSet<>();
+
+        private long size() {
+            return this.vertexIds.size() + this.edgeIds.size() + this.objects.size();
+        }
+    }
+
+    /**
+     * Deletes the spill directory of a set, either when the set is cleared or after the set was garbage collected.
+     */
+    private static final class SpillReference extends PhantomReference<DedupSet> {
+
+        private final File spillDirectory;
+
+        private SpillReference(final DedupSet dedupSet, final File spillDirectory) {
+            super(dedupSet, COLLECTED_SETS);
+            this.spillDirectory = spillDirectory;
+            SPILL_REFERENCES.add(this);
+        }
+
+        private void delete() {
+            SPILL_REFERENCES.remove(this);
+            this.clear();
+            final File[] files = this.spillDirectory.listFiles();
+            if (null != files) {
+                for (final File file : files) {
+                    file.delete();
+                }
+            }
+            this.spillDirectory.delete();
+        }
+    }
+}
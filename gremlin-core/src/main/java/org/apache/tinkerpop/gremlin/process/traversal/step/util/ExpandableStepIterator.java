@@ -24,7 +24,9 @@ import org.apache.tinkerpop.gremlin.util.iterator.MultiIterator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -34,6 +36,9 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
     private final TraverserSet<S> traverserSet = new TraverserSet<>();
     private final MultiIterator<Traverser.Admin<S>> traverserIterators = new MultiIterator<>();
     private final Step<S,?> hostStep;
+    private final List<Traverser.Admin<S>> batch = new ArrayList<>();
+    private int batchIndex = 0;
+    private Boolean batching = null;
 
     public ExpandableStepIterator(final Step<S,?> hostStep) {
         this.hostStep = hostStep;
@@ -41,7 +46,7 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
 
     @Override
     public boolean hasNext() {
-        return !this.traverserSet.isEmpty() || this.hostStep.getPreviousStep().hasNext() || this.traverserIterators.hasNext();
+        return !this.traverserSet.isEmpty() || this.batchIndex < this.batch.size() || this.hostStep.getPreviousStep().hasNext() || this.traverserIterators.hasNext();
     }
 
     @Override
@@ -51,6 +56,15 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
         if (this.traverserIterators.hasNext())
             return this.traverserIterators.next();
         /////////////
+        if (this.batchIndex < this.batch.size())
+            return this.batch.get(this.batchIndex++);
+        if (this.isBatching()) {
+            this.batch.clear();
+            this.batchIndex = 0;
+            if (((AbstractStep<?, S>) this.hostStep.getPreviousStep()).nextBatch(this.batch))
+                return this.batch.get(this.batchIndex++);
+        }
+        /////////////
         if (this.hostStep.getPreviousStep().hasNext())
             return (Traverser.Admin<S>) this.hostStep.getPreviousStep().next();
         /////////////
@@ -73,5 +87,15 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
     public void clear() {
         this.traverserIterators.clear();
         this.traverserSet.clear();
+        this.batch.clear();
+        this.batchIndex = 0;
+    }
+
+    private boolean isBatching() {
+        if (null == this.batching) {
+            final Step<?, S> previousStep = this.hostStep.getPreviousStep();
+            this.batching = previousStep instanceof AbstractStep && ((AbstractStep) previousStep).isBatching();
+        }
+        return this.batching;
     }
 }
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountLocalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MaxLocalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MeanLocalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MinLocalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.SumLocalStep;
+
+import java.io.Serializable;
+import java.util.Iterator;
+
+/**
+ * An associative reducer of the values of a group. If the reduce traversal of a {@code group()} is a single
+ * {@code count(local)}, {@code sum(local)}, {@code min(local)}, {@code max(local)} or {@code mean(local)}, the values
+ * of each key are folded into a {@link Partial} as they arrive instead of being collected into a {@link BulkSet} that
+ * is only reduced at the end. As partials can be merged, they also serve as a map-side combiner in OLAP. The final
+ * values are the same as those of the respective local step applied to the collected values.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public enum GroupReducer {
+
+    COUNT {
+        @Override
+        protected void fold(final Partial partial, final Number value, final long bulk) {
+        }
+
+        @Override
+        protected void merge(final Partial partial, final Number value) {
+        }
+
+        @Override
+        protected Object reduce(final Partial partial) {
+            return partial.count;
+        }
+    },
+    SUM {
+        @Override
+        protected void fold(final Partial partial, final Number value, final long bulk) {
+            partial.value = null == partial.value ?
+                    (1l == bulk ? value : value.doubleValue() * bulk) :
+                    partial.value.doubleValue() + value.doubleValue() * bulk;
+        }
+
+        @Override
+        protected void merge(final Partial partial, final Number value) {
+            partial.value = partial.value.doubleValue() + value.doubleValue();
+        }
+
+        @Override
+        protected Object reduce(final Partial partial) {
+            return null == partial.value ? 0.0d : partial.value;
+        }
+    },
+    MIN {
+        @Override
+        protected void fold(final Partial partial, final Number value, final long bulk) {
+            this.merge(partial, value);
+        }
+
+        @Override
+        protected void merge(final Partial partial, final Number value) {
+            if (null == partial.value || partial.value.doubleValue() > value.doubleValue())
+                partial.value = value;
+        }
+
+        @Override
+        protected Object reduce(final Partial partial) {
+            return null == partial.value ? Double.NaN : partial.value;
+        }
+    },
+    MAX {
+        @Override
+        protected void fold(final Partial partial, final Number value, final long bulk) {
+            this.merge(partial, value);
+        }
+
+        @Override
+        protected void merge(final Partial partial, final Number value) {
+            if (null == partial.value || partial.value.doubleValue() < value.doubleValue())
+                partial.value = value;
+        }
+
+        @Override
+        protected Object reduce(final Partial partial) {
+            return null == partial.value ? Double.NaN : partial.value;
+        }
+    },
+    MEAN {
+        @Override
+        protected void fold(final Partial partial, final Number value, final long bulk) {
+            SUM.fold(partial, value, bulk);
+        }
+
+        @Override
+        protected void merge(final Partial partial, final Number value) {
+            SUM.merge(partial, value);
+        }
+
+        @Override
+        protected Object reduce(final Partial partial) {
+            return null == partial.value ? Double.NaN : partial.value.doubleValue() / partial.count;
+        }
+    };
+
+    protected abstract void fold(final Partial partial, final Number value, final long bulk);
+
+    protected abstract void merge(final Partial partial, final Number value);
+
+    protected abstract Object reduce(final Partial partial);
+
+    /**
+     * Folds a value of the group into the partial. Like the values that are added to a group's {@link BulkSet}, an
+     * {@link Iterator} or {@link Iterable} value is unrolled and each of its objects is folded with the bulk.
+     */
+    public void add(final Partial partial, final Object value, final long bulk) {
+        if (value instanceof Iterator)
+            ((Iterator<?>) value).forEachRemaining(object -> this.addObject(partial, object, bulk));
+        else if (value instanceof Iterable)
+            ((Iterable<?>) value).forEach(object -> this.addObject(partial, object, bulk));
+        else
+            this.addObject(partial, value, bulk);
+    }
+
+    private void addObject(final Partial partial, final Object object, final long bulk) {
+        if (COUNT != this)
+            this.fold(partial, (Number) object, bulk);
+        partial.count = partial.count + bulk;
+    }
+
+    /**
+     * Merges the other partial into the partial.
+     */
+    public void addAll(final Partial partial, final Partial other) {
+        if (null != other.value) {
+            if (null == partial.value)
+                partial.value = other.value;
+            else
+                this.merge(partial, other.value);
+        }
+        partial.count = partial.count + other.count;
+    }
+
+    /**
+     * Returns the reduction of all the values folded into the partial.
+     */
+    public Object getFinal(final Partial partial) {
+        return this.reduce(partial);
+    }
+
+    /**
+     * Returns the reducer that is equivalent to the reduce traversal or {@code null} if there is none.
+     */
+    public static GroupReducer of(final Traversal.Admin<?, ?> reduceTraversal) {
+        if (null == reduceTraversal || 1 != reduceTraversal.getSteps().size())
+            return null;
+        final Step<?, ?> step = reduceTraversal.getStartStep();
+        if (step instanceof CountLocalStep)
+            return COUNT;
+        else if (step instanceof SumLocalStep)
+            return SUM;
+        else if (step instanceof MinLocalStep)
+            return MIN;
+        else if (step instanceof MaxLocalStep)
+            return MAX;
+        else if (step instanceof MeanLocalStep)
+            return MEAN;
+        else
+            return null;
+    }
+
+    /**
+     * The running reduction of the values of a group: the number of values and the sum, minimum or maximum of them.
+     */
+    public static final class Partial implements Serializable {
+
+        private long count = 0l;
+        private Number value = null;
+
+        public Partial() {
+        }
+
+        public long getCount() {
+            return this.count;
+        }
+
+        @Override
+        public String toString() {
+            return "partial[" + this.count + ':' + this.value + ']';
+        }
+    }
+}
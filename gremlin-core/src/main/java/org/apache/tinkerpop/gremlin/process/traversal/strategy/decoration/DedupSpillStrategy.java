@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.DedupSet;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+/**
+ * {@code DedupSpillStrategy} bounds the memory of the {@link DedupGlobalStep} steps of the traversals of a traversal
+ * source. Once a step has seen more objects than the spill threshold, its {@link DedupSet} spills them to disk.
+ * <p/>
+ * {@code g = graph.traversal(GraphTraversalSource.build().with(DedupSpillStrategy.build().spillThreshold(1000000).create()))}
+ *
+ * @author Stephen Mallette (http://stephen.genoprime.com)
+ */
+public final class DedupSpillStrategy extends AbstractTraversalStrategy {
+
+    private final long spillThreshold;
+
+    private DedupSpillStrategy(final long spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        for (final DedupGlobalStep<?> dedupStep : TraversalHelper.getStepsOfClass(DedupGlobalStep.class, traversal)) {
+            dedupStep.setSpillThreshold(this.spillThreshold);
+        }
+    }
+
+    public long getSpillThreshold() {
+        return this.spillThreshold;
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private long spillThreshold = Long.MAX_VALUE;
+
+        private Builder() {}
+
+        public Builder spillThreshold(final long spillThreshold) {
+            if (spillThreshold < 1)
+                throw new IllegalArgumentException("The spill threshold must be at least 1: " + spillThreshold);
+            this.spillThreshold = spillThreshold;
+            return this;
+        }
+
+        public DedupSpillStrategy create() {
+            return new DedupSpillStrategy(this.spillThreshold);
+        }
+    }
+}
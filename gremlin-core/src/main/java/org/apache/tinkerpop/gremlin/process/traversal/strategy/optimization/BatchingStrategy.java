@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Ranging;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SupplyingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code BatchingStrategy} lets the steps in front of a barrier pull the traversers of one another in batches (see
+ * {@link AbstractStep#processNextBatch}). As a barrier consumes all of its starts before it emits anything, the steps
+ * leading up to it can process their starts ahead of demand without this being observable. Batching thus only
+ * extends backwards from a barrier for as long as the steps {@link AbstractStep#supportsBatching} and are not
+ * {@link Ranging} or {@link TraversalParent} steps. For example, {@code g.V().out().has('age',gt(30)).count()} is
+ * batched between {@code out()}, {@code has()} and {@code count()}, while {@code g.V().out().limit(1)} is not batched.
+ * <p/>
+ * The strategy is not registered by default as a filter or map step evaluates its predicate or function ahead of
+ * demand once batched, which a user supplied {@code BiPredicate}, {@code Predicate} or lambda may observe.
+ * <p/>
+ * {@code g = graph.traversal(GraphTraversalSource.build().with(BatchingStrategy.instance()))}
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public final class BatchingStrategy extends AbstractTraversalStrategy {
+
+    private static final BatchingStrategy INSTANCE = new BatchingStrategy();
+
+    private static final Set<Class<? extends TraversalStrategy>> PRIORS = new HashSet<>();
+
+    static {
+        PRIORS.add(ConjunctionStrategy.class);
+        PRIORS.add(OrderLimitStrategy.class);
+        PRIORS.add(ProfileStrategy.class);
+        PRIORS.add(RangeByIsCountStrategy.class);
+    }
+
+    private BatchingStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!traversal.getEngine().isStandard())
+            return;
+
+        final List<Step> steps = traversal.getSteps();
+        boolean batching = false;
+        for (int i = steps.size() - 1; i >= 0; i--) {
+            final Step<?, ?> step = steps.get(i);
+            if (batching && isBatchable(step))
+                ((AbstractStep) step).setBatching(true);
+            else
+                batching = step instanceof CollectingBarrierStep || step instanceof ReducingBarrierStep || step instanceof SupplyingBarrierStep;
+        }
+    }
+
+    private static boolean isBatchable(final Step<?, ?> step) {
+        return step instanceof AbstractStep && ((AbstractStep) step).supportsBatching() &&
+                !(step instanceof Ranging || step instanceof TraversalParent);
+    }
+
+    @Override
+    public Set<Class<? extends TraversalStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public static BatchingStrategy instance() {
+        return INSTANCE;
+    }
+}
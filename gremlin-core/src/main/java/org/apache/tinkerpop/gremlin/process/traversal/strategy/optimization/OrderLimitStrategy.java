@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ComparatorHolderRemovalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * {@code OrderLimitStrategy} bounds an {@link OrderGlobalStep} by the range of a directly following
+ * {@link RangeGlobalStep} so that the step only keeps the top {@code high} traversers instead of sorting all of them
+ * (e.g. {@code g.V().order().by('age').limit(10)}). On {@code GraphComputer}, a range at the end of the traversal is
+ * folded into the {@link OrderGlobalStep} and applied to the sorted result of the traversal.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public final class OrderLimitStrategy extends AbstractTraversalStrategy {
+
+    private static final OrderLimitStrategy INSTANCE = new OrderLimitStrategy();
+
+    private static final Set<Class<? extends TraversalStrategy>> PRIORS = new HashSet<>();
+    private static final Set<Class<? extends TraversalStrategy>> POSTS = new HashSet<>();
+
+    static {
+        PRIORS.add(DedupOptimizerStrategy.class);
+        PRIORS.add(IdentityRemovalStrategy.class);
+        POSTS.add(ComparatorHolderRemovalStrategy.class);
+        POSTS.add(ProfileStrategy.class);
+    }
+
+    private OrderLimitStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!TraversalHelper.hasStepOfClass(OrderGlobalStep.class, traversal))
+            return;
+
+        for (final OrderGlobalStep<?> orderStep : TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal)) {
+            final Step<?, ?> nextStep = orderStep.getNextStep();
+            if (!(nextStep instanceof RangeGlobalStep) || -1 == ((RangeGlobalStep) nextStep).getHighRange())
+                continue;
+            final RangeGlobalStep<?> rangeStep = (RangeGlobalStep) nextStep;
+            if (traversal.getEngine().isStandard())
+                orderStep.setRange(rangeStep.getLowRange(), rangeStep.getHighRange());
+            else if (traversal.getParent() instanceof EmptyStep && rangeStep == traversal.getEndStep()) {
+                // the range is applied to the sorted traversers of the TraverserMapReduce
+                orderStep.setRange(rangeStep.getLowRange(), rangeStep.getHighRange());
+                rangeStep.getLabels().forEach(orderStep::addLabel);
+                traversal.removeStep(rangeStep);
+            }
+        }
+    }
+
+    @Override
+    public Set<Class<? extends TraversalStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    @Override
+    public Set<Class<? extends TraversalStrategy>> applyPost() {
+        return POSTS;
+    }
+
+    public static OrderLimitStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -20,42 +20,72 @@ package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
 
 import org.apache.tinkerpop.gremlin.process.traversal.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.util.LinkedObjectLongMap;
 
 import java.io.Serializable;
 import java.util.AbstractSet;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
+ * An insertion-ordered set of traversers where adding an equal traverser merges it into the existing one. The
+ * traversers are held in a {@link LinkedObjectLongMap} and polling the first traverser is constant time. The value of
+ * an entry is the bulk of its traverser as of when it was last added or merged into, and the set keeps the running
+ * total of those bulks, which is thus its {@link #bulkSize()}.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements Set<Traverser.Admin<S>>, Queue<Traverser.Admin<S>>, Serializable {
 
-    private final Map<Traverser.Admin<S>, Traverser.Admin<S>> map = new LinkedHashMap<>();
+    private final LinkedObjectLongMap<Traverser.Admin<S>> map = new LinkedObjectLongMap<>();
+    private long bulkSize = 0l;
 
     public TraverserSet() {
 
     }
 
     public TraverserSet(final Traverser.Admin<S> traverser) {
-        this.map.put(traverser, traverser);
+        this.map.append(traverser, traverser.bulk());
+        this.bulkSize = traverser.bulk();
     }
 
     @Override
     public Iterator<Traverser.Admin<S>> iterator() {
-        return this.map.values().iterator();
+        return new Iterator<Traverser.Admin<S>>() {
+            int next = map.first();
+            int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return -1 != this.next;
+            }
+
+            @Override
+            public Traverser.Admin<S> next() {
+                if (-1 == this.next)
+                    throw FastNoSuchElementException.instance();
+                this.last = this.next;
+                this.next = map.next(this.next);
+                return map.keyAt(this.last);
+            }
+
+            @Override
+            public void remove() {
+                if (-1 == this.last)
+                    throw new IllegalStateException();
+                removeAt(this.last);
+                this.last = -1;
+            }
+        };
     }
 
     public Traverser.Admin<S> get(final Traverser.Admin<S> traverser) {
-        return this.map.get(traverser);
+        final int index = this.map.indexOf(traverser);
+        return -1 == index ? null : this.map.keyAt(index);
     }
 
     @Override
@@ -64,7 +94,7 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
     }
 
     public long bulkSize() {
-        return this.map.values().stream().map(Traverser::bulk).reduce(0l, (a, b) -> a + b);
+        return this.bulkSize;
     }
 
     @Override
@@ -74,17 +104,21 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     @Override
     public boolean contains(final Object traverser) {
-        return this.map.containsKey(traverser);
+        return -1 != this.map.indexOf(traverser);
     }
 
     @Override
     public boolean add(final Traverser.Admin<S> traverser) {
-        final Traverser.Admin<S> existing = this.map.get(traverser);
-        if (null == existing) {
-            this.map.put(traverser, traverser);
+        final int index = this.map.indexOf(traverser);
+        if (-1 == index) {
+            this.map.append(traverser, traverser.bulk());
+            this.bulkSize = this.bulkSize + traverser.bulk();
             return true;
         } else {
+            final Traverser.Admin<S> existing = this.map.keyAt(index);
             existing.merge(traverser);
+            this.bulkSize = this.bulkSize + existing.bulk() - this.map.valueAt(index);
+            this.map.setValueAt(index, existing.bulk());
             return false;
         }
     }
@@ -96,11 +130,11 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     @Override
     public Traverser.Admin<S> remove() {  // pop, exception if empty
-        final Iterator<Traverser.Admin<S>> iterator = this.map.values().iterator();
-        if (!iterator.hasNext())
+        final int first = this.map.first();
+        if (-1 == first)
             throw FastNoSuchElementException.instance();
-        final Traverser.Admin<S> next = iterator.next();
-        iterator.remove();
+        final Traverser.Admin<S> next = this.map.keyAt(first);
+        this.removeAt(first);
         return next;
     }
 
@@ -116,34 +150,46 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     @Override
     public Traverser.Admin<S> peek() { // peek, null if empty
-        return this.map.isEmpty() ? null : this.iterator().next();
+        return this.map.isEmpty() ? null : this.map.keyAt(this.map.first());
     }
 
     @Override
     public boolean remove(final Object traverser) {
-        return this.map.remove(traverser) != null;
+        final int index = this.map.indexOf(traverser);
+        if (-1 == index)
+            return false;
+        this.removeAt(index);
+        return true;
+    }
+
+    private void removeAt(final int index) {
+        this.bulkSize = this.bulkSize - this.map.valueAt(index);
+        this.map.removeAt(index);
     }
 
     @Override
     public void clear() {
         this.map.clear();
+        this.bulkSize = 0l;
     }
 
     @Override
     public Spliterator<Traverser.Admin<S>> spliterator() {
-        return this.map.values().spliterator();
+        return Spliterators.spliterator(this, Spliterator.ORDERED | Spliterator.DISTINCT);
     }
 
     @Override
     public String toString() {
-        return this.map.keySet().toString();
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = this.map.first(); i != -1; i = this.map.next(i)) {
+            if (builder.length() > 1) builder.append(", ");
+            builder.append(this.map.keyAt(i));
+        }
+        return builder.append(']').toString();
     }
 
     public void sort(final Comparator<Traverser<S>> comparator) {
-        final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.values());
-        Collections.sort(list, comparator);
-        this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+        this.map.sort(comparator);
     }
 
 }
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An insertion-ordered, open-addressing map from objects to primitive {@code long} values. It is the backing store
+ * of {@link org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet} and
+ * {@link org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet}.
+ * <p/>
+ * Entries are appended to parallel key, hash, and value arrays and are addressed by their position in those arrays.
+ * A linear-probing table of positions (with backward-shift deletion) indexes the entries. A removed entry leaves a
+ * hole that iteration skips, and holes are compacted away when the arrays are full. Removing the first entry (i.e.
+ * using the map as a queue) is constant time. In comparison to a {@code LinkedHashMap<K, Long>}, no entry object or
+ * boxed value is allocated per key.
+ * <p/>
+ * Positions are stable until the next {@link #append} or {@link #add} of a new key. Iteration is by position:
+ * {@code for (int i = map.first(); i != -1; i = map.next(i))}.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public final class LinkedObjectLongMap<K> implements Serializable {
+
+    private static final Object NULL_KEY = new Object();
+    private static final int MINIMUM_CAPACITY = 4;
+
+    private transient Object[] keys;
+    private transient int[] hashes;
+    private transient long[] values;
+    private transient int[] slots;
+    private transient int head;
+    private transient int end;
+    private transient int size;
+
+    public LinkedObjectLongMap() {
+        this.clear();
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    /**
+     * @return the position of the key or {@code -1} if the key is not in the map
+     */
+    public int indexOf(final Object key) {
+        final Object k = null == key ? NULL_KEY : key;
+        final int hash = hash(k);
+        final int mask = this.slots.length - 1;
+        for (int i = hash & mask; 0 != this.slots[i]; i = (i + 1) & mask) {
+            final int index = this.slots[i] - 1;
+            if (this.hashes[index] == hash && k.equals(this.keys[index]))
+                return index;
+        }
+        return -1;
+    }
+
+    /**
+     * Adds the value to the value of the key, appending the key if it is not yet in the map.
+     *
+     * @return {@code true} if the key was appended
+     */
+    public boolean add(final K key, final long value) {
+        final int index = this.indexOf(key);
+        if (-1 == index) {
+            this.append(key, value);
+            return true;
+        } else {
+            this.values[index] = this.values[index] + value;
+            return false;
+        }
+    }
+
+    /**
+     * Appends a key that is not in the map.
+     *
+     * @return the position of the key
+     */
+    public int append(final K key, final long value) {
+        if (this.end == this.keys.length)
+            this.resize();
+        final Object k = null == key ? NULL_KEY : key;
+        final int index = this.end++;
+        this.keys[index] = k;
+        this.hashes[index] = hash(k);
+        this.values[index] = value;
+        this.index(index);
+        this.size++;
+        return index;
+    }
+
+    public K keyAt(final int index) {
+        final Object key = this.keys[index];
+        return NULL_KEY == key ? null : (K) key;
+    }
+
+    public long valueAt(final int index) {
+        return this.values[index];
+    }
+
+    public void setValueAt(final int index, final long value) {
+        this.values[index] = value;
+    }
+
+    /**
+     * @return the position of the first entry or {@code -1} if the map is empty
+     */
+    public int first() {
+        return this.head < this.end ? this.head : -1;
+    }
+
+    /**
+     * @return the position of the entry after the entry at the position or {@code -1} if it is the last entry
+     */
+    public int next(int index) {
+        while (++index < this.end) {
+            if (null != this.keys[index])
+                return index;
+        }
+        return -1;
+    }
+
+    public void removeAt(final int index) {
+        final int mask = this.slots.length - 1;
+        int slot = this.hashes[index] & mask;
+        while (this.slots[slot] != index + 1) {
+            slot = (slot + 1) & mask;
+        }
+        // backward-shift the rest of the probe sequence so that lookups need no tombstones
+        this.slots[slot] = 0;
+        for (int i = (slot + 1) & mask; 0 != this.slots[i]; i = (i + 1) & mask) {
+            final int home = this.hashes[this.slots[i] - 1] & mask;
+            if (((i - home) & mask) >= ((i - slot) & mask)) {
+                this.slots[slot] = this.slots[i];
+                this.slots[i] = 0;
+                slot = i;
+            }
+        }
+        this.keys[index] = null;
+        this.values[index] = 0l;
+        if (0 == --this.size) {
+            this.head = 0;
+            this.end = 0;
+        } else if (index == this.head) {
+            this.head = this.next(index);
+        }
+    }
+
+    /**
+     * @return the value of the removed key or {@code 0} if the key is not in the map
+     */
+    public long remove(final Object key) {
+        final int index = this.indexOf(key);
+        if (-1 == index)
+            return 0l;
+        final long value = this.values[index];
+        this.removeAt(index);
+        return value;
+    }
+
+    public void clear() {
+        this.keys = new Object[MINIMUM_CAPACITY];
+        this.hashes = new int[MINIMUM_CAPACITY];
+        this.values = new long[MINIMUM_CAPACITY];
+        this.slots = new int[MINIMUM_CAPACITY << 1];
+        this.head = 0;
+        this.end = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Reorders the entries of the map by their keys.
+     */
+    public void sort(final Comparator<? super K> comparator) {
+        final List<Integer> order = new ArrayList<>(this.size);
+        for (int i = this.first(); i != -1; i = this.next(i)) {
+            order.add(i);
+        }
+        order.sort((a, b) -> comparator.compare(this.keyAt(a), this.keyAt(b)));
+        this.rebuild(order.stream().mapToInt(Integer::intValue).toArray(), this.keys.length);
+    }
+
+    private void resize() {
+        final int[] order = new int[this.size];
+        for (int i = this.first(), j = 0; i != -1; i = this.next(i), j++) {
+            order[j] = i;
+        }
+        // compact in place if at least half the entries are holes, else double the capacity
+        this.rebuild(order, this.size <= this.keys.length >> 1 ? this.keys.length : this.keys.length << 1);
+    }
+
+    private void rebuild(final int[] order, final int capacity) {
+        final Object[] keys = new Object[capacity];
+        final int[] hashes = new int[capacity];
+        final long[] values = new long[capacity];
+        for (int i = 0; i < order.length; i++) {
+            keys[i] = this.keys[order[i]];
+            hashes[i] = this.hashes[order[i]];
+            values[i] = this.values[order[i]];
+        }
+        this.keys = keys;
+        this.hashes = hashes;
+        this.values = values;
+        this.slots = new int[capacity << 1];
+        this.head = 0;
+        this.end = order.length;
+        for (int i = 0; i < this.end; i++) {
+            this.index(i);
+        }
+    }
+
+    private void index(final int index) {
+        final int mask = this.slots.length - 1;
+        int slot = this.hashes[index] & mask;
+        while (0 != this.slots[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        this.slots[slot] = index + 1;
+    }
+
+    private static int hash(final Object key) {
+        final int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void writeObject(final ObjectOutputStream outputStream) throws IOException {
+        outputStream.defaultWriteObject();
+        outputStream.writeInt(this.size);
+        for (int i = this.first(); i != -1; i = this.next(i)) {
+            outputStream.writeObject(this.keyAt(i));
+            outputStream.writeLong(this.values[i]);
+        }
+    }
+
+    private void readObject(final ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+        inputStream.defaultReadObject();
+        this.clear();
+        final int size = inputStream.readInt();
+        for (int i = 0; i < size; i++) {
+            this.append((K) inputStream.readObject(), inputStream.readLong());
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("{");
+        for (int i = this.first(); i != -1; i = this.next(i)) {
+            if (builder.length() > 1) builder.append(", ");
+            builder.append(this.keyAt(i)).append('=').append(this.values[i]);
+        }
+        return builder.append('}').toString();
+    }
+}
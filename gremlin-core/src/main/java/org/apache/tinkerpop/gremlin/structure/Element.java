@@ -91,7 +91,11 @@ public abstract interface Element {
      * @throws NoSuchElementException if the property does not exist on the {@code Element}.
      */
     public default <V> V value(final String key) throws NoSuchElementException {
-        return this.<V>property(key).orElseThrow(() -> Property.Exceptions.propertyDoesNotExist(this,key));
+        final Property<V> property = this.property(key);
+        if (property.isPresent())
+            return property.value();
+        else
+            throw Property.Exceptions.propertyDoesNotExist(this, key);
     }
 
     /**
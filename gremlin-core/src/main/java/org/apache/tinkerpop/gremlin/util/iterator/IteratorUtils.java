@@ -95,7 +95,7 @@ public final class IteratorUtils {
 
             @Override
             public boolean hasNext() {
-                return iterator.hasNext() && this.count < limit;
+                return this.count < limit && iterator.hasNext();
             }
 
             @Override
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map.match;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Joshua Shinavier (http://fortytwo.net)
+ */
+public class HashJoinEnumeratorTest {
+
+    @Test
+    public void shouldJoinOnSharedVariables() {
+        final List<String> expected = new ArrayList<>();
+        for (int a = 0; a < 20; a++) {
+            for (final int leftB : Arrays.asList(a % 3, (2 * a) % 3)) {
+                for (int c = 0; c < 10; c++) {
+                    for (final int rightB : Arrays.asList(c % 4, (2 * c) % 4)) {
+                        if (leftB == rightB)
+                            expected.add("a=" + a + ",b=" + leftB + ",c=" + c);
+                    }
+                }
+            }
+        }
+        Collections.sort(expected);
+        assertEquals(expected, solutions(new HashJoinEnumerator<>(enumerator("a", 20, 3), enumerator("c", 10, 4), Collections.singleton("b"))));
+    }
+
+    @Test
+    public void shouldJoinNothingWithAnEmptyEnumerator() {
+        assertEquals(Collections.emptyList(), solutions(new HashJoinEnumerator<>(enumerator("a", 20, 3), enumerator("c", 0, 4), Collections.singleton("b"))));
+        assertEquals(Collections.emptyList(), solutions(new HashJoinEnumerator<>(enumerator("a", 0, 3), enumerator("c", 10, 4), Collections.singleton("b"))));
+    }
+
+    // binds each of the values to the name and each multiple of the value modulo the divisor to "b"
+    private static Enumerator<Integer> enumerator(final String name, final int values, final int divisor) {
+        return new SerialEnumerator<>(name, IntStream.range(0, values).boxed().iterator(),
+                value -> new IteratorEnumerator<>("b", Arrays.asList(value % divisor, (2 * value) % divisor).iterator()));
+    }
+
+    private static List<String> solutions(final Enumerator<Integer> enumerator) {
+        final List<String> solutions = new ArrayList<>();
+        for (int i = 0; ; i++) {
+            final Map<String, Integer> solution = new HashMap<>();
+            if (!enumerator.visitSolution(i, solution::put))
+                break;
+            solutions.add(solution.entrySet().stream().sorted(Map.Entry.comparingByKey()).map(Object::toString).collect(Collectors.joining(",")));
+        }
+        Collections.sort(solutions);
+        return solutions;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedEdge;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.javatuples.Pair;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class DedupSetTest {
+
+    @Test
+    public void shouldDedupWithoutSpilling() {
+        final DedupSet set = new DedupSet();
+        assertTrue(set.add(vertex(1l)));
+        assertTrue(set.add(edge(1l)));
+        assertTrue(set.add(vertex("1")));
+        assertTrue(set.add(1l));
+        assertTrue(set.add(null));
+        assertFalse(set.add(vertex(1l)));
+        assertFalse(set.add(edge(1l)));
+        assertFalse(set.add(vertex("1")));
+        assertFalse(set.add(1l));
+        assertFalse(set.add(null));
+        assertFalse(set.isSpilled());
+    }
+
+    @Test
+    public void shouldDedupLikeAHashSetWhenSpilled() {
+        final DedupSet set = new DedupSet(100);
+        final Set<Object> expected = new HashSet<>();
+        final Random random = new Random(12345l);
+        for (int i = 0; i < 10000; i++) {
+            final int value = random.nextInt(2000);
+            final Object object;
+            switch (value % 5) {
+                case 0:
+                    object = vertex((long) value);
+                    break;
+                case 1:
+                    object = edge((long) value);
+                    break;
+                case 2:
+                    object = vertex("v" + value);
+                    break;
+                case 3:
+                    object = Collections.singletonList(value);
+                    break;
+                default:
+                    object = "s" + value;
+            }
+            assertEquals(expected.add(object), set.add(object));
+        }
+        assertTrue(set.isSpilled());
+        set.clear();
+        assertFalse(set.isSpilled());
+        assertTrue(set.add(vertex(0l)));
+    }
+
+    @Test
+    public void shouldKeepUnserializableObjectsOnHeap() {
+        final DedupSet set = new DedupSet(2);
+        final Object a = new Object();
+        assertTrue(set.add(a));
+        assertTrue(set.add("a"));
+        assertTrue(set.add("b"));
+        assertTrue(set.isSpilled());
+        assertFalse(set.add(a));
+        assertFalse(set.add("a"));
+        assertFalse(set.add("b"));
+        assertTrue(set.add("c"));
+    }
+
+    @Test
+    public void shouldDedupAcrossManyGenerations() {
+        final DedupSet set = new DedupSet(50);
+        for (long i = 0; i < 5000; i++) {
+            assertTrue(set.add(vertex(i)));
+            assertTrue(set.add("s" + i));
+        }
+        assertTrue(set.getGenerations() > 100);
+        for (long i = 0; i < 5000; i++) {
+            assertFalse(set.add(vertex(i)));
+            assertFalse(set.add("s" + i));
+        }
+        assertTrue(set.add(vertex(5000l)));
+    }
+
+    @Test
+    public void shouldDeleteSpillFilesOnClear() {
+        final DedupSet set = new DedupSet(10);
+        for (long i = 0; i < 100; i++) {
+            set.add(vertex(i));
+        }
+        final File spillDirectory = set.getSpillDirectory();
+        assertTrue(spillDirectory.isDirectory());
+        assertTrue(spillDirectory.list().length > 1);
+        set.clear();
+        assertFalse(spillDirectory.exists());
+        assertNull(set.getSpillDirectory());
+    }
+
+    private static DetachedVertex vertex(final Object id) {
+        return new DetachedVertex(id, "vertex", Collections.emptyMap());
+    }
+
+    private static DetachedEdge edge(final Object id) {
+        return new DetachedEdge(id, "edge", Collections.emptyMap(), Pair.with(1l, "vertex"), Pair.with(2l, "vertex"));
+    }
+}
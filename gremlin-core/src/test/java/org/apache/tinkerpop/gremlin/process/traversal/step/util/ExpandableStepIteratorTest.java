@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.P;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class ExpandableStepIteratorTest {
+
+    private static Integer[] numbers(final int size) {
+        final Integer[] numbers = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            numbers[i] = i;
+        }
+        return numbers;
+    }
+
+    private static List<Integer>[] lists(final int size) {
+        final List<Integer>[] lists = new List[size];
+        for (int i = 0; i < size; i++) {
+            lists[i] = Arrays.asList(numbers(i % 7));
+        }
+        return lists;
+    }
+
+    @Test
+    public void shouldPullTheSameTraversersInBatches() {
+        final List<Supplier<Traversal.Admin<?, ?>>> traversals = Arrays.asList(
+                () -> __.inject(numbers(1000)).is(P.gte(10)).is(P.test((t, u) -> ((Integer) t) % 3 != 0, 0)).asAdmin(),
+                () -> __.inject(lists(1000)).unfold().is(P.lt(5)).asAdmin(),
+                () -> __.inject(numbers(1000)).is(P.gte(10)).range(20, 700).is(P.lt(600)).asAdmin(),
+                () -> __.inject(numbers(10)).is(P.gte(100)).is(P.lt(5)).asAdmin());
+        for (final Supplier<Traversal.Admin<?, ?>> supplier : traversals) {
+            final List<?> expected = supplier.get().toList();
+            final Traversal.Admin<?, ?> traversal = supplier.get();
+            for (final Step<?, ?> step : traversal.getSteps()) {
+                ((AbstractStep) step).setBatching(true);
+            }
+            assertEquals(expected, traversal.toList());
+        }
+    }
+
+    @Test
+    public void shouldPullTraversersOneAtATimeUnlessBatching() {
+        final List<Integer> pulled = new ArrayList<>();
+        final Traversal.Admin<Integer, Integer> traversal = __.<Integer>inject(numbers(1000)).sideEffect(t -> pulled.add(t.get())).is(P.gte(0)).asAdmin();
+        assertEquals(0, traversal.next().intValue());
+        assertEquals(1, pulled.size());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class GroupReducerTest {
+
+    @Test
+    public void shouldRecognizeReduceTraversals() {
+        assertEquals(GroupReducer.COUNT, GroupReducer.of(__.count(Scope.local).asAdmin()));
+        assertEquals(GroupReducer.SUM, GroupReducer.of(__.sum(Scope.local).asAdmin()));
+        assertEquals(GroupReducer.MIN, GroupReducer.of(__.min(Scope.local).asAdmin()));
+        assertEquals(GroupReducer.MAX, GroupReducer.of(__.max(Scope.local).asAdmin()));
+        assertEquals(GroupReducer.MEAN, GroupReducer.of(__.mean(Scope.local).asAdmin()));
+        assertNull(GroupReducer.of(null));
+        assertNull(GroupReducer.of(__.dedup(Scope.local).asAdmin()));
+        assertNull(GroupReducer.of(__.count(Scope.local).is(1l).asAdmin()));
+    }
+
+    @Test
+    public void shouldReduceLikeTheLocalSteps() {
+        final List<Traversal.Admin> reduceTraversals = Arrays.asList(
+                __.count(Scope.local).asAdmin(),
+                __.sum(Scope.local).asAdmin(),
+                __.min(Scope.local).asAdmin(),
+                __.max(Scope.local).asAdmin(),
+                __.mean(Scope.local).asAdmin());
+        final List<List<Object>> values = Arrays.asList(
+                Collections.emptyList(),
+                Collections.singletonList(3),
+                Arrays.asList(1, 2.5d, Arrays.asList(4l, -1)),
+                Arrays.asList(0.4d, 0.4d, 0.2d, 7));
+        for (final Traversal.Admin reduceTraversal : reduceTraversals) {
+            final GroupReducer reducer = GroupReducer.of(reduceTraversal);
+            for (final List<Object> list : values) {
+                for (final long bulk : new long[]{1l, 3l}) {
+                    final BulkSet<Object> bulkSet = new BulkSet<>();
+                    final GroupReducer.Partial left = new GroupReducer.Partial();
+                    final GroupReducer.Partial right = new GroupReducer.Partial();
+                    for (int i = 0; i < list.size(); i++) {
+                        TraversalHelper.addToCollectionUnrollIterator(bulkSet, list.get(i), bulk);
+                        reducer.add(i % 2 == 0 ? left : right, list.get(i), bulk);
+                    }
+                    reducer.addAll(left, right);
+                    final Object expected = TraversalUtil.applyNullable((Collection<Object>) bulkSet, (Traversal.Admin<Collection<Object>, Object>) reduceTraversal);
+                    assertEquals(reducer + " of " + list + " with bulk " + bulk, expected, reducer.getFinal(left));
+                    assertEquals(bulkSet.longSize(), left.getCount());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldSerializePartialsWithGryo() {
+        final GroupReducer.Partial partial = new GroupReducer.Partial();
+        GroupReducer.SUM.add(partial, Arrays.asList(1, 2), 2l);
+        final GryoMapper mapper = GryoMapper.build().create();
+        final Kryo kryo = mapper.createMapper();
+        final Output output = new Output(1024);
+        kryo.writeClassAndObject(output, partial);
+        final GroupReducer.Partial copy = (GroupReducer.Partial) kryo.readClassAndObject(new Input(output.toBytes()));
+        assertEquals(4l, copy.getCount());
+        assertEquals(6.0d, GroupReducer.SUM.getFinal(copy));
+    }
+}
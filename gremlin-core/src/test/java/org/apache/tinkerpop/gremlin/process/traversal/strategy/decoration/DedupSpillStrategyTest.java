@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Stephen Mallette (http://stephen.genoprime.com)
+ */
+public class DedupSpillStrategyTest {
+
+    @Test
+    public void shouldSetTheSpillThresholdOfDedupSteps() {
+        final Traversal.Admin<?, ?> traversal = __.out().dedup().out().dedup().asAdmin();
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(DedupSpillStrategy.build().spillThreshold(1000).create());
+        traversal.setStrategies(strategies);
+        traversal.applyStrategies();
+        for (final DedupGlobalStep<?> dedupStep : TraversalHelper.getStepsOfClass(DedupGlobalStep.class, traversal)) {
+            assertEquals(1000, dedupStep.getSpillThreshold());
+        }
+        assertEquals(2, TraversalHelper.getStepsOfClass(DedupGlobalStep.class, traversal).size());
+    }
+
+    @Test
+    public void shouldNotSpillByDefault() {
+        assertEquals(Long.MAX_VALUE, TraversalHelper.getStepsOfClass(DedupGlobalStep.class, __.dedup().asAdmin()).get(0).getSpillThreshold());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRequireAPositiveSpillThreshold() {
+        DedupSpillStrategy.build().spillThreshold(0);
+    }
+}
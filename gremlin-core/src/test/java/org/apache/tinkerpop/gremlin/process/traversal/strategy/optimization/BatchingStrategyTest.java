@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.structure.P;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class BatchingStrategyTest {
+
+    @Test
+    public void shouldBatchStepsInFrontOfBarrier() {
+        final Traversal.Admin<?, ?> traversal = __.inject(1, 2, 3).is(P.gt(1)).map(t -> t.get()).is(P.lt(3)).is(P.gt(0)).count().asAdmin();
+        applyBatchingStrategy(traversal, TraversalEngine.Type.STANDARD);
+        assertEquals(Arrays.asList(false, false, false, true, true, false), batching(traversal));
+    }
+
+    @Test
+    public void shouldNotBatchWithoutBarrier() {
+        final Traversal.Admin<?, ?> traversal = __.inject(1, 2, 3).is(P.gt(1)).is(P.lt(3)).asAdmin();
+        applyBatchingStrategy(traversal, TraversalEngine.Type.STANDARD);
+        assertEquals(Arrays.asList(false, false, false), batching(traversal));
+    }
+
+    @Test
+    public void shouldNotBatchAcrossRange() {
+        final Traversal.Admin<?, ?> traversal = __.inject(1, 2, 3).is(P.gt(1)).limit(1).is(P.lt(3)).fold().asAdmin();
+        applyBatchingStrategy(traversal, TraversalEngine.Type.STANDARD);
+        assertEquals(Arrays.asList(false, false, false, true, false), batching(traversal));
+    }
+
+    @Test
+    public void shouldNotBatchTraversalParents() {
+        final Traversal.Admin<?, ?> traversal = __.inject(1, 2, 3).is(P.gt(1)).and(__.is(P.lt(3))).is(P.gt(0)).count().asAdmin();
+        applyBatchingStrategy(traversal, TraversalEngine.Type.STANDARD);
+        assertEquals(Arrays.asList(false, false, false, true, false), batching(traversal));
+    }
+
+    @Test
+    public void shouldNotBatchOnComputer() {
+        final Traversal.Admin<?, ?> traversal = __.inject(1, 2, 3).is(P.gt(1)).count().asAdmin();
+        applyBatchingStrategy(traversal, TraversalEngine.Type.COMPUTER);
+        assertEquals(Arrays.asList(false, false, false), batching(traversal));
+    }
+
+    private static List<Boolean> batching(final Traversal.Admin<?, ?> traversal) {
+        final List<Boolean> batching = new ArrayList<>();
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            batching.add(((AbstractStep) step).isBatching());
+        }
+        return batching;
+    }
+
+    private static void applyBatchingStrategy(final Traversal.Admin<?, ?> traversal, final TraversalEngine.Type type) {
+        final TraversalEngine traversalEngine = mock(TraversalEngine.class);
+        when(traversalEngine.getType()).thenReturn(type);
+        when(traversalEngine.isStandard()).thenReturn(type.equals(TraversalEngine.Type.STANDARD));
+        when(traversalEngine.isComputer()).thenReturn(type.equals(TraversalEngine.Type.COMPUTER));
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(BatchingStrategy.instance());
+        traversal.setStrategies(strategies);
+        traversal.setEngine(traversalEngine);
+        strategies.applyStrategies(traversal);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Order;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class OrderLimitStrategyTest {
+
+    @Test
+    public void shouldBoundOrderByFollowingRangeOnStandard() {
+        final Traversal.Admin<?, ?> traversal = __.out().order().by("age", Order.decr).range(2, 10).asAdmin();
+        applyOrderLimitStrategy(traversal, TraversalEngine.Type.STANDARD);
+        final OrderGlobalStep<?> orderStep = TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal).get(0);
+        assertEquals(2, orderStep.getLowRange());
+        assertEquals(10, orderStep.getHighRange());
+        assertEquals(1, TraversalHelper.getStepsOfClass(RangeGlobalStep.class, traversal).size());
+    }
+
+    @Test
+    public void shouldNotBoundOrderWithoutFollowingRange() {
+        final Traversal.Admin<?, ?> traversal = __.out().order().by("age", Order.incr).out().limit(10).asAdmin();
+        applyOrderLimitStrategy(traversal, TraversalEngine.Type.STANDARD);
+        assertEquals(-1, TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal).get(0).getHighRange());
+    }
+
+    @Test
+    public void shouldNotBoundOrderByUnboundedRange() {
+        final Traversal.Admin<?, ?> traversal = __.out().order().by("age", Order.incr).range(5, -1).asAdmin();
+        applyOrderLimitStrategy(traversal, TraversalEngine.Type.STANDARD);
+        assertEquals(-1, TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal).get(0).getHighRange());
+    }
+
+    @Test
+    public void shouldFoldEndRangeIntoOrderOnComputer() {
+        final Traversal.Admin<?, ?> traversal = __.out().order().by("age", Order.incr).limit(10).asAdmin();
+        applyOrderLimitStrategy(traversal, TraversalEngine.Type.COMPUTER);
+        final OrderGlobalStep<?> orderStep = TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal).get(0);
+        assertEquals(0, orderStep.getLowRange());
+        assertEquals(10, orderStep.getHighRange());
+        assertEquals(0, TraversalHelper.getStepsOfClass(RangeGlobalStep.class, traversal).size());
+        assertEquals(orderStep, traversal.getEndStep());
+    }
+
+    @Test
+    public void shouldNotFoldMidTraversalRangeOnComputer() {
+        final Traversal.Admin<?, ?> traversal = __.out().order().by("age", Order.incr).limit(10).out().asAdmin();
+        applyOrderLimitStrategy(traversal, TraversalEngine.Type.COMPUTER);
+        assertEquals(-1, TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal).get(0).getHighRange());
+        assertEquals(1, TraversalHelper.getStepsOfClass(RangeGlobalStep.class, traversal).size());
+    }
+
+    @Test
+    public void shouldOnlyKeepTheTopTraversers() {
+        final List<Integer> numbers = Arrays.asList(7, 3, 9, 1, 5, 3, 8, 2, 6, 4, 9, 0);
+        for (int high = 0; high <= numbers.size() + 1; high++) {
+            for (int low = 0; low <= high; low++) {
+                final Traversal.Admin<?, ?> traversal = __.inject(numbers.toArray()).order().by(Order.decr).range(low, high).asAdmin();
+                applyOrderLimitStrategy(traversal, TraversalEngine.Type.STANDARD);
+                final Traversal.Admin<?, ?> expected = __.inject(numbers.toArray()).order().by(Order.decr).range(low, high).asAdmin();
+                assertEquals(expected.toList(), traversal.toList());
+            }
+        }
+    }
+
+    private static void applyOrderLimitStrategy(final Traversal.Admin<?, ?> traversal, final TraversalEngine.Type type) {
+        final TraversalEngine traversalEngine = mock(TraversalEngine.class);
+        when(traversalEngine.getType()).thenReturn(type);
+        when(traversalEngine.isStandard()).thenReturn(type.equals(TraversalEngine.Type.STANDARD));
+        when(traversalEngine.isComputer()).thenReturn(type.equals(TraversalEngine.Type.COMPUTER));
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(OrderLimitStrategy.instance());
+        traversal.setStrategies(strategies);
+        traversal.setEngine(traversalEngine);
+        strategies.applyStrategies(traversal);
+    }
+}
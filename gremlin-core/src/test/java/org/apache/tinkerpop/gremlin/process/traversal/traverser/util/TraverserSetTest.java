@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TraverserSetTest {
+
+    @Test
+    public void shouldKeepTheBulkSizeAcrossAddsAndRemoves() {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        final Random random = new Random(12345l);
+        for (int i = 0; i < 10000; i++) {
+            final int operation = random.nextInt(10);
+            if (operation < 6) {
+                traverserSet.add(new B_O_Traverser<>(random.nextInt(100), 1 + random.nextInt(5)));
+            } else if (operation < 8) {
+                traverserSet.remove(new B_O_Traverser<>(random.nextInt(100), 1l));
+            } else if (operation < 9) {
+                traverserSet.poll();
+            } else {
+                final Iterator<Traverser.Admin<Integer>> iterator = traverserSet.iterator();
+                if (iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+            long bulkSize = 0l;
+            for (final Traverser.Admin<Integer> traverser : traverserSet) {
+                bulkSize = bulkSize + traverser.bulk();
+            }
+            assertEquals(bulkSize, traverserSet.bulkSize());
+        }
+        traverserSet.clear();
+        assertEquals(0l, traverserSet.bulkSize());
+    }
+}
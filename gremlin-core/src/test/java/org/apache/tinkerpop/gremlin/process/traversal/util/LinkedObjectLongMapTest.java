@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class LinkedObjectLongMapTest {
+
+    @Test
+    public void shouldBehaveLikeALinkedHashMap() {
+        final LinkedObjectLongMap<Integer> map = new LinkedObjectLongMap<>();
+        final Map<Integer, Long> expected = new LinkedHashMap<>();
+        final Random random = new Random(12345l);
+        for (int i = 0; i < 100000; i++) {
+            final Integer key = random.nextInt(1000) == 0 ? null : random.nextInt(2000);
+            final int operation = random.nextInt(10);
+            if (operation < 6) {
+                map.add(key, 2l);
+                expected.merge(key, 2l, (a, b) -> a + b);
+            } else if (operation < 9) {
+                assertEquals(null == expected.get(key) ? 0l : expected.remove(key).longValue(), map.remove(key));
+            } else if (!expected.isEmpty()) {
+                final Iterator<Integer> iterator = expected.keySet().iterator();
+                assertEquals(iterator.next(), map.keyAt(map.first()));
+                iterator.remove();
+                map.removeAt(map.first());
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(toMap(map).entrySet()));
+    }
+
+    @Test
+    public void shouldSortByKey() {
+        final LinkedObjectLongMap<String> map = new LinkedObjectLongMap<>();
+        map.add("c", 3l);
+        map.add("a", 1l);
+        map.add("d", 4l);
+        map.add("b", 2l);
+        map.remove("d");
+        map.sort(Comparator.naturalOrder());
+        final List<String> keys = new ArrayList<>();
+        for (int i = map.first(); i != -1; i = map.next(i)) {
+            keys.add(map.keyAt(i));
+            assertEquals(keys.get(keys.size() - 1).charAt(0) - 'a' + 1, map.valueAt(i));
+        }
+        assertEquals("[a, b, c]", keys.toString());
+    }
+
+    @Test
+    public void shouldSerializeEntriesInOrder() throws Exception {
+        final LinkedObjectLongMap<String> map = new LinkedObjectLongMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.add(Integer.toString(i % 37), i);
+        }
+        map.remove("10");
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(map);
+        }
+        try (final ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(new ArrayList<>(toMap(map).entrySet()), new ArrayList<>(toMap((LinkedObjectLongMap<String>) input.readObject()).entrySet()));
+        }
+    }
+
+    private static <K> Map<K, Long> toMap(final LinkedObjectLongMap<K> map) {
+        final Map<K, Long> result = new LinkedHashMap<>();
+        for (int i = map.first(); i != -1; i = map.next(i)) {
+            result.put(map.keyAt(i), map.valueAt(i));
+        }
+        return result;
+    }
+}
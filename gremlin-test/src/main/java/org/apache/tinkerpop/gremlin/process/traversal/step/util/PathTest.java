@@ -27,11 +27,13 @@ import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedPath;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferencePath;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
@@ -44,7 +46,7 @@ import static org.junit.Assert.*;
 public class PathTest extends AbstractGremlinProcessTest {
 
     private final static List<Supplier<Path>> PATH_SUPPLIERS =
-            Arrays.asList(MutablePath::make, ImmutablePath::make, DetachedPath::make, ReferencePath::make);
+            Arrays.asList(MutablePath::make, ImmutablePath::make, CompactPath::make, DetachedPath::make, ReferencePath::make);
 
     @Test
     public void shouldHaveStandardSemanticsImplementedCorrectly() {
@@ -168,4 +170,73 @@ public class PathTest extends AbstractGremlinProcessTest {
             assertEquals("stephen", path.get("c"));
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldNotShareExtensionsOfBranchingCompactPaths() {
+        final Path root = CompactPath.make().extend("marko", "a").extend("josh", "b");
+        final Path left = root.extend("lop", "c");
+        final Path right = root.extend("ripple", "d");
+        final Path leftLeft = left.extend("peter");
+        final Path leftRight = left.extend("vadas", "e");
+        assertEquals(2, root.size());
+        assertEquals(Arrays.asList("marko", "josh"), root.objects());
+        assertEquals(Arrays.asList("marko", "josh", "lop"), left.objects());
+        assertEquals(Arrays.asList("marko", "josh", "ripple"), right.objects());
+        assertEquals(Arrays.asList("marko", "josh", "lop", "peter"), leftLeft.objects());
+        assertEquals(Arrays.asList("marko", "josh", "lop", "vadas"), leftRight.objects());
+        assertEquals("ripple", right.get(2));
+        assertEquals("vadas", leftRight.get(3));
+        assertFalse(root.hasLabel("c"));
+        assertFalse(right.hasLabel("c"));
+        assertTrue(right.hasLabel("d"));
+        assertFalse(leftLeft.hasLabel("e"));
+        assertTrue(leftRight.hasLabel("e"));
+        leftLeft.addLabel("f");
+        assertTrue(leftLeft.hasLabel("f"));
+        assertFalse(leftRight.hasLabel("f"));
+        assertEquals("peter", leftLeft.get("f"));
+        assertEquals(Collections.emptySet(), root.extend("stephen").labels().get(2));
+    }
+
+    @Test
+    public void shouldNotShareLabelsAddedAfterCompactPathsBranch() {
+        final Path root = CompactPath.make().extend("marko", "a").extend("josh");
+        final Path left = root.extend("lop");
+        final Path right = root.extend("ripple");
+        final Set<String> rootLabels = root.labels().get(1);
+        left.addLabel("c");
+        right.addLabel("d");
+        assertTrue(left.hasLabel("c"));
+        assertFalse(left.hasLabel("d"));
+        assertTrue(right.hasLabel("d"));
+        assertFalse(right.hasLabel("c"));
+        assertFalse(root.hasLabel("c") || root.hasLabel("d"));
+        root.addLabel("b");
+        for (final Path path : Arrays.asList(root, left, right)) {
+            assertTrue(path.hasLabel("b"));
+            assertEquals("josh", path.get("b"));
+        }
+        assertEquals(Collections.emptySet(), rootLabels);
+        assertEquals(Collections.singleton("b"), root.labels().get(1));
+        assertEquals(Arrays.asList(Collections.singleton("a"), Collections.singleton("b"), Collections.singleton("d")), right.labels());
+    }
+
+    @Test
+    public void shouldExtendCompactPathsBeyondTheirSegments() {
+        Path path = CompactPath.make();
+        final List<Path> branches = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            branches.add(path.extend(-i, "x"));
+            path = path.extend(i, 0 == i % 10 ? "a" : "b");
+        }
+        assertEquals(100, path.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, path.<Integer>get(i).intValue());
+            assertEquals(i + 1, branches.get(i).size());
+            assertEquals(-i, branches.get(i).<Integer>get(i).intValue());
+            assertEquals(-i, branches.get(i).<Integer>get("x").intValue());
+        }
+        assertEquals(Arrays.asList(0, 10, 20, 30, 40, 50, 60, 70, 80, 90), path.get("a"));
+        assertFalse(path.hasLabel("x"));
+    }
+}
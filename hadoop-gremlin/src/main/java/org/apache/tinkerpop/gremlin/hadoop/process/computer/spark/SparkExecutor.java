@@ -50,8 +50,11 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import scala.Tuple2;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -91,6 +94,12 @@ public final class SparkExecutor {
                         final boolean hasViewAndMessages = vertexViewIncoming._2()._2().isPresent(); // if this is the first iteration, then there are no views or messages
                         final List<DetachedVertexProperty<Object>> previousView = hasViewAndMessages ? vertexViewIncoming._2()._2().get().getView() : Collections.emptyList();
                         final List<M> incomingMessages = hasViewAndMessages ? vertexViewIncoming._2()._2().get().getIncomingMessages() : Collections.emptyList();
+                        if (hasViewAndMessages && vertexViewIncoming._2()._2().get().isHalted() && incomingMessages.isEmpty()) {
+                            // the vertex voted to halt and has no messages so it keeps its view and is not executed
+                            if (!partitionIterator.hasNext())
+                                workerVertexProgram.workerIterationEnd(memory);
+                            return new Tuple2<>(vertex.id(), new ViewOutgoingPayload<>(previousView, Collections.<Tuple2<Object, M>>emptyList(), true));
+                        }
                         previousView.forEach(property -> property.attach(Attachable.Method.create(vertex)));  // attach the view to the vertex
                         ///
                         messenger.setVertexAndIncomingMessages(vertex, incomingMessages); // set the messenger with the incoming messages
@@ -102,7 +111,7 @@ public final class SparkExecutor {
                         final List<Tuple2<Object, M>> outgoingMessages = messenger.getOutgoingMessages(); // get the outgoing messages
                         if (!partitionIterator.hasNext())
                             workerVertexProgram.workerIterationEnd(memory); // if no more vertices in the partition, end the worker's iteration
-                        return new Tuple2<>(vertex.id(), new ViewOutgoingPayload<>(nextView, outgoingMessages));
+                        return new Tuple2<>(vertex.id(), new ViewOutgoingPayload<>(nextView, outgoingMessages, messenger.isHalted()));
                     });
                 })).setName("viewOutgoingRDD");
 
@@ -176,7 +185,28 @@ public final class SparkExecutor {
         return mapRDD;
     }
 
-    // TODO: public static executeCombine()  is this necessary?  YES --- we groupByKey in reduce() where we want to combine first.
+    public static <K, V, OK, OV> JavaPairRDD<OK, OV> executeCombine(final JavaPairRDD<K, V> mapRDD, final Configuration apacheConfiguration) {
+        return mapRDD.mapPartitionsToPair(partitionIterator -> {
+            final MapReduce<K, V, OK, OV, ?> workerMapReduce = MapReduce.<MapReduce<K, V, OK, OV, ?>>createMapReduce(apacheConfiguration);
+            workerMapReduce.workerStart(MapReduce.Stage.COMBINE);
+            final SparkReduceEmitter<OK, OV> combineEmitter = new SparkReduceEmitter<>();
+            // a combiner emits the key/value types of the map stage and may be applied to partial results, so the
+            // values of a key are folded as they stream in and only the partial result of each key is held
+            final Map<K, List<V>> partials = new HashMap<>();
+            partitionIterator.forEachRemaining(keyValue -> {
+                final List<V> values = partials.computeIfAbsent(keyValue._1(), key -> new ArrayList<>(2));
+                values.add(keyValue._2());
+                if (values.size() > 1) {
+                    workerMapReduce.combine(keyValue._1(), values.iterator(), combineEmitter);
+                    values.clear();
+                    combineEmitter.getEmissions().forEachRemaining(emission -> values.add((V) emission._2()));
+                }
+            });
+            partials.forEach((key, values) -> workerMapReduce.combine(key, values.iterator(), combineEmitter));
+            workerMapReduce.workerEnd(MapReduce.Stage.COMBINE);
+            return () -> combineEmitter.getEmissions();
+        });
+    }
 
     public static <K, V, OK, OV> JavaPairRDD<OK, OV> executeReduce(final JavaPairRDD<K, V> mapRDD, final MapReduce<K, V, OK, OV, ?> mapReduce, final Configuration apacheConfiguration) {
         JavaPairRDD<OK, OV> reduceRDD = mapRDD.groupByKey().mapPartitionsToPair(partitionIterator -> {
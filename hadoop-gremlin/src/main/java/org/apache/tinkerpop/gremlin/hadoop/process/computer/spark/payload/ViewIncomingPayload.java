@@ -35,6 +35,7 @@ public class ViewIncomingPayload<M> implements Payload {
 
     private List<DetachedVertexProperty<Object>> view = null;
     private final List<M> incomingMessages;
+    private boolean halted = false;
 
 
     public ViewIncomingPayload() {
@@ -48,6 +49,7 @@ public class ViewIncomingPayload<M> implements Payload {
     public ViewIncomingPayload(final ViewPayload viewPayload) {
         this.incomingMessages = null;
         this.view = viewPayload.getView();
+        this.halted = viewPayload.isHalted();
     }
 
 
@@ -64,6 +66,10 @@ public class ViewIncomingPayload<M> implements Payload {
         return null != view;
     }
 
+    public boolean isHalted() {
+        return this.halted;
+    }
+
     ////////////////////
 
 
@@ -75,9 +81,10 @@ public class ViewIncomingPayload<M> implements Payload {
     }
 
     private void mergeViewIncomingPayload(final ViewIncomingPayload<M> viewIncomingPayload, final MessageCombiner<M> messageCombiner) {
-        if (this.view == null)
+        if (this.view == null) {
             this.view = viewIncomingPayload.view;
-        else
+            this.halted = viewIncomingPayload.halted;
+        } else
             this.view.addAll(viewIncomingPayload.getView());
 
         for (final M message : viewIncomingPayload.getIncomingMessages()) {
@@ -86,9 +93,10 @@ public class ViewIncomingPayload<M> implements Payload {
     }
 
     public void mergePayload(final Payload payload, final MessageCombiner<M> messageCombiner) {
-        if (payload instanceof ViewPayload)
+        if (payload instanceof ViewPayload) {
             this.view = ((ViewPayload) payload).getView();
-        else if (payload instanceof MessagePayload)
+            this.halted = ((ViewPayload) payload).isHalted();
+        } else if (payload instanceof MessagePayload)
             this.mergeMessage(((MessagePayload<M>) payload).getMessage(), messageCombiner);
         else if (payload instanceof ViewIncomingPayload)
             this.mergeViewIncomingPayload((ViewIncomingPayload<M>) payload, messageCombiner);
@@ -33,14 +33,16 @@ public class ViewOutgoingPayload<M> implements Payload {
 
     private final List<DetachedVertexProperty<Object>> view;
     private final List<Tuple2<Object,M>> outgoingMessages;
+    private final boolean halted;
 
-    public ViewOutgoingPayload(final List<DetachedVertexProperty<Object>> view, final List<Tuple2<Object,M>> outgoingMessages) {
+    public ViewOutgoingPayload(final List<DetachedVertexProperty<Object>> view, final List<Tuple2<Object,M>> outgoingMessages, final boolean halted) {
         this.view = view;
         this.outgoingMessages = outgoingMessages;
+        this.halted = halted;
     }
 
     public ViewPayload getView() {
-        return new ViewPayload(this.view);
+        return new ViewPayload(this.view, this.halted);
     }
 
     public List<Tuple2<Object,M>> getOutgoingMessages() {
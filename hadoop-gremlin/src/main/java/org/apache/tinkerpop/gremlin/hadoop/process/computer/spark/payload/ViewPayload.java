@@ -31,12 +31,18 @@ import java.util.List;
 public class ViewPayload implements Payload {
 
     private final List<DetachedVertexProperty<Object>> view;
+    private final boolean halted;
 
-    public ViewPayload(final List<DetachedVertexProperty<Object>> view) {
+    public ViewPayload(final List<DetachedVertexProperty<Object>> view, final boolean halted) {
         this.view = view;
+        this.halted = halted;
     }
 
     public List<DetachedVertexProperty<Object>> getView() {
         return this.view;
     }
+
+    public boolean isHalted() {
+        return this.halted;
+    }
 }
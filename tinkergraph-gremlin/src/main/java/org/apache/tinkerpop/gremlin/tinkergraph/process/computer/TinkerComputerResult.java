@@ -33,7 +33,7 @@ public class TinkerComputerResult extends DefaultComputerResult {
     }
 
     @Override
-    public void close() {
+    public void close() throws Exception {
         ((TinkerGraph) this.graph).close();
     }
 }
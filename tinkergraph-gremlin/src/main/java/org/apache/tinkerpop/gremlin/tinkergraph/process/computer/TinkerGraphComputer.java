@@ -32,7 +32,6 @@ import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
@@ -53,7 +52,7 @@ public class TinkerGraphComputer implements GraphComputer {
     private VertexProgram<?> vertexProgram;
     private final TinkerGraph graph;
     private TinkerMemory memory;
-    private final TinkerMessageBoard messageBoard = new TinkerMessageBoard();
+    private TinkerMessageBoard messageBoard;
     private boolean executed = false;
     private final Set<MapReduce> mapReducers = new HashSet<>();
 
@@ -126,8 +125,10 @@ public class TinkerGraphComputer implements GraphComputer {
         return CompletableFuture.<ComputerResult>supplyAsync(() -> {
             final long time = System.currentTimeMillis();
             try (final TinkerWorkerPool workers = new TinkerWorkerPool(Runtime.getRuntime().availableProcessors())) {
+                final TinkerVertexOrdinals ordinals = new TinkerVertexOrdinals(this.graph);
                 if (null != this.vertexProgram) {
-                    TinkerHelper.createGraphView(this.graph, this.isolation, this.vertexProgram.getElementComputeKeys());
+                    this.messageBoard = new TinkerMessageBoard<>(ordinals, this.vertexProgram.getMessageCombiner());
+                    TinkerHelper.createGraphView(this.graph, this.isolation, this.vertexProgram.getElementComputeKeys(), ordinals);
                     computeGraph.setState(ComputerGraph.State.VERTEX_PROGRAM);
                     // execute the vertex program
                     this.vertexProgram.setup(this.memory);
@@ -135,13 +136,10 @@ public class TinkerGraphComputer implements GraphComputer {
                     while (true) {
                         workers.setVertexProgram(this.vertexProgram);
                         workers.vertexProgramWorkerIterationStart(this.memory.asImmutable());
-                        final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(computeGraph.vertices());
-                        workers.executeVertexProgram(vertexProgram -> {
-                            while (true) {
-                                final Vertex vertex = vertices.next();
-                                if (null == vertex) return;
-                                vertexProgram.execute(vertex, new TinkerMessenger<>(vertex, this.messageBoard, vertexProgram.getMessageCombiner()), this.memory);
-                            }
+                        workers.executeVertexProgram(ordinals.size(), (vertexProgram, ordinal) -> {
+                            if (!this.messageBoard.activate(ordinal)) return; // the vertex voted to halt and has no messages
+                            final Vertex vertex = computeGraph.wrapVertex(ordinals.getVertex(ordinal));
+                            vertexProgram.execute(vertex, new TinkerMessenger<>(vertex, ordinal, this.messageBoard), this.memory);
                         });
                         workers.vertexProgramWorkerIterationEnd(this.memory.asImmutable());
                         this.messageBoard.completeIteration();
@@ -162,16 +160,10 @@ public class TinkerGraphComputer implements GraphComputer {
                 for (final MapReduce mapReduce : mapReducers) {
                     if (mapReduce.doStage(MapReduce.Stage.MAP)) {
                         final TinkerMapEmitter<?, ?> mapEmitter = new TinkerMapEmitter<>(mapReduce.doStage(MapReduce.Stage.REDUCE));
-                        final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(computeGraph.vertices());
                         workers.setMapReduce(mapReduce);
                         workers.mapReduceWorkerStart(MapReduce.Stage.MAP);
-                        workers.executeMapReduce(workerMapReduce -> {
-                            while (true) {
-                                final Vertex vertex = vertices.next();
-                                if (null == vertex) return;
-                                workerMapReduce.map(vertex, mapEmitter);
-                            }
-                        });
+                        workers.executeMapReduce(ordinals.size(), true, (workerMapReduce, ordinal) ->
+                                workerMapReduce.map(computeGraph.wrapVertex(ordinals.getVertex(ordinal)), mapEmitter));
                         workers.mapReduceWorkerEnd(MapReduce.Stage.MAP);
 
                         // sort results if a map output sort is defined
@@ -180,15 +172,11 @@ public class TinkerGraphComputer implements GraphComputer {
                         // no need to run combiners as this is single machine
                         if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
                             final TinkerReduceEmitter<?, ?> reduceEmitter = new TinkerReduceEmitter<>();
-                            final SynchronizedIterator<Map.Entry<?, Queue<?>>> keyValues = new SynchronizedIterator((Iterator) mapEmitter.reduceMap.entrySet().iterator());
+                            final Map.Entry<?, Queue<?>>[] keyValues = mapEmitter.reduceMap.entrySet().toArray(new Map.Entry[mapEmitter.reduceMap.size()]);
                             workers.mapReduceWorkerStart(MapReduce.Stage.REDUCE);
-                            workers.executeMapReduce(workerMapReduce -> {
-                                while (true) {
-                                    final Map.Entry<?, Queue<?>> entry = keyValues.next();
-                                    if (null == entry) return;
-                                    workerMapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter);
-                                }
-                            });
+                            // a sorted map output is reduced in order as the reduce output is otherwise emitted unsorted
+                            workers.executeMapReduce(keyValues.length, !mapReduce.getMapKeySort().isPresent() || mapReduce.getReduceKeySort().isPresent(), (workerMapReduce, index) ->
+                                    workerMapReduce.reduce(keyValues[index].getKey(), keyValues[index].getValue().iterator(), reduceEmitter));
                             workers.mapReduceWorkerEnd(MapReduce.Stage.REDUCE);
                             reduceEmitter.complete(mapReduce); // sort results if a reduce output sort is defined
                             mapReduce.addResultToMemory(this.memory, reduceEmitter.reduceQueue.iterator());
@@ -212,17 +200,4 @@ public class TinkerGraphComputer implements GraphComputer {
     public String toString() {
         return StringFactory.graphComputerString(this);
     }
-
-    private static class SynchronizedIterator<V> {
-
-        private final Iterator<V> iterator;
-
-        public SynchronizedIterator(final Iterator<V> iterator) {
-            this.iterator = iterator;
-        }
-
-        public synchronized V next() {
-            return this.iterator.hasNext() ? this.iterator.next() : null;
-        }
-    }
-}
\ No newline at end of file
+}
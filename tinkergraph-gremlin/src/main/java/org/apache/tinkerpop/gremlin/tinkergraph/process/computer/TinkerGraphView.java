@@ -19,9 +19,7 @@
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
-import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Property;
-import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
@@ -29,98 +27,263 @@ import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertexProperty;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
+ * The compute key properties of the vertices are stored in one column per compute key which is indexed by the
+ * ordinal of the vertex (see {@link TinkerVertexOrdinals}). A slot of a column holds either nothing, the raw
+ * value of a single property, a single {@link VertexProperty} or an array of them. Setting a single cardinality
+ * property without meta-properties stores the raw value and a {@link VertexProperty} is only created when one is
+ * requested. Such a property is identified by its slot and the value it was created for and is stored in its slot
+ * once it is given meta-properties. Slots are updated by compare-and-set and arrays are never mutated once stored.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TinkerGraphView {
 
     protected final Set<String> computeKeys;
     protected final GraphComputer.Isolation isolation;
-    private Map<Element, Map<String, List<VertexProperty>>> computeProperties;
+    private final Map<String, Integer> columnIndices = new HashMap<>();
+    private final AtomicReferenceArray<Object>[] columns;
+    private final TinkerVertexOrdinals ordinals;
 
-    public TinkerGraphView(final GraphComputer.Isolation isolation, final Set<String> computeKeys) {
+    public TinkerGraphView(final GraphComputer.Isolation isolation, final Set<String> computeKeys, final TinkerVertexOrdinals ordinals) {
         this.isolation = isolation;
         this.computeKeys = computeKeys;
-        this.computeProperties = new ConcurrentHashMap<>();
+        this.ordinals = ordinals;
+        this.columns = new AtomicReferenceArray[computeKeys.size()];
+        for (final String key : computeKeys) {
+            this.columns[this.columnIndices.size()] = new AtomicReferenceArray<>(ordinals.size());
+            this.columnIndices.put(key, this.columnIndices.size());
+        }
     }
 
     public <V> Property<V> addProperty(final TinkerVertex vertex, final String key, final V value) {
         ElementHelper.validateProperty(key, value);
-        if (isComputeKey(key)) {
-            final TinkerVertexProperty<V> property = new TinkerVertexProperty<V>((TinkerVertex) vertex, key, value) {
-                @Override
-                public void remove() {
-                    removeProperty(vertex, key, this);
-                }
-            };
-            this.addValue(vertex, key, property);
-            return property;
-        } else {
-            throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
+        final int column = this.getColumn(key);
+        final int ordinal = this.getOrdinal(vertex, true);
+        final ComputeProperty<V> property = new ComputeProperty<>(vertex, key, value);
+        while (true) {
+            final Object slot = this.columns[column].get(ordinal);
+            final ComputeProperty[] properties = this.toProperties(vertex, key, column, ordinal, slot, false);
+            final Object newSlot;
+            if (0 == properties.length)
+                newSlot = property;
+            else {
+                final ComputeProperty[] newProperties = Arrays.copyOf(properties, properties.length + 1);
+                newProperties[properties.length] = property;
+                newSlot = newProperties;
+            }
+            if (this.columns[column].compareAndSet(ordinal, slot, newSlot))
+                return property;
         }
     }
 
+    /**
+     * Replace all the properties of the compute key with a single property of the provided value.
+     */
+    public <V> VertexProperty<V> setProperty(final TinkerVertex vertex, final String key, final V value) {
+        ElementHelper.validateProperty(key, value);
+        final int column = this.getColumn(key);
+        final int ordinal = this.getOrdinal(vertex, true);
+        this.columns[column].set(ordinal, value);
+        return new ComputeProperty<>(vertex, key, value, column, ordinal);
+    }
+
     public List<VertexProperty> getProperty(final TinkerVertex vertex, final String key) {
-        return isComputeKey(key) ? this.getValue(vertex, key) : TinkerHelper.getProperties(vertex).getOrDefault(key, Collections.emptyList());
+        if (!this.isComputeKey(key))
+            return TinkerHelper.getProperties(vertex, key);
+        final int column = this.columnIndices.get(key);
+        final int ordinal = this.getOrdinal(vertex, false);
+        if (-1 == ordinal)
+            return Collections.emptyList();
+        final Object slot = this.columns[column].get(ordinal);
+        if (null == slot)
+            return Collections.emptyList();
+        else if (slot instanceof ComputeProperty)
+            return Collections.singletonList((VertexProperty) slot);
+        else if (slot instanceof ComputeProperty[])
+            return Arrays.asList((VertexProperty[]) slot);
+        else
+            return Collections.singletonList(new ComputeProperty<>(vertex, key, slot, column, ordinal));
     }
 
     public List<Property> getProperties(final TinkerVertex vertex) {
-        final Stream<Property> a = TinkerHelper.getProperties(vertex).values().stream().flatMap(list -> list.stream());
-        final Stream<Property> b = this.computeProperties.containsKey(vertex) ?
-                this.computeProperties.get(vertex).values().stream().flatMap(list -> list.stream()) :
-                Stream.empty();
-        return Stream.concat(a, b).collect(Collectors.toList());
+        final List<VertexProperty> properties = new ArrayList<>();
+        TinkerHelper.getProperties(vertex, properties);
+        final int ordinal = this.getOrdinal(vertex, false);
+        if (-1 != ordinal) {
+            for (final Map.Entry<String, Integer> entry : this.columnIndices.entrySet()) {
+                final Object slot = this.columns[entry.getValue()].get(ordinal);
+                if (null != slot)
+                    Collections.addAll(properties, this.toProperties(vertex, entry.getKey(), entry.getValue(), ordinal, slot, true));
+            }
+        }
+        return (List) properties;
     }
 
     public void removeProperty(final TinkerVertex vertex, final String key, final VertexProperty property) {
-        if (isComputeKey(key)) {
-            this.removeValue(vertex, key, property);
-        } else {
-            throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
+        final int column = this.getColumn(key);
+        final int ordinal = this.getOrdinal(vertex, false);
+        if (-1 == ordinal)
+            return;
+        while (true) {
+            final Object slot = this.columns[column].get(ordinal);
+            final Object newSlot;
+            if (null == slot)
+                return;
+            else if (slot instanceof ComputeProperty[]) {
+                final ComputeProperty[] properties = (ComputeProperty[]) slot;
+                final List<ComputeProperty> remaining = new ArrayList<>(properties.length);
+                for (final ComputeProperty computeProperty : properties) {
+                    if (!computeProperty.equals(property))
+                        remaining.add(computeProperty);
+                }
+                if (remaining.size() == properties.length)
+                    return;
+                newSlot = remaining.size() == 1 ? remaining.get(0) : remaining.toArray(new ComputeProperty[remaining.size()]);
+            } else if (slot instanceof ComputeProperty) {
+                if (!slot.equals(property))
+                    return;
+                newSlot = null;
+            } else {
+                if (!new RawId(column, ordinal, slot).equals(property.id()))
+                    return;
+                newSlot = null;
+            }
+            if (this.columns[column].compareAndSet(ordinal, slot, newSlot))
+                return;
         }
     }
 
+    public boolean isComputeKey(final String key) {
+        return this.computeKeys.contains(key);
+    }
+
     //////////////////////
 
-    private void addValue(final Vertex vertex, final String key, final VertexProperty property) {
-        final Map<String, List<VertexProperty>> elementProperties = this.computeProperties.computeIfAbsent(vertex, k -> new ConcurrentHashMap<>());
-        elementProperties.compute(key, (k, v) -> {
-            if (null == v) v = Collections.synchronizedList(new ArrayList<>());
-            v.add(property);
-            return v;
-        });
+    private int getColumn(final String key) {
+        final Integer column = this.columnIndices.get(key);
+        if (null == column)
+            throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
+        return column;
     }
 
-    private void removeValue(final Vertex vertex, final String key) {
-        this.computeProperties.computeIfPresent(vertex, (k, v) -> {
-            v.remove(key);
-            return v;
-        });
+    private int getOrdinal(final TinkerVertex vertex, final boolean required) {
+        final int ordinal = this.ordinals.getOrdinal(vertex);
+        if (-1 == ordinal && required)
+            throw new IllegalStateException("The vertex was not part of the graph computation: " + vertex);
+        return ordinal;
     }
 
-    private void removeValue(final Vertex vertex, final String key, final VertexProperty property) {
-        this.computeProperties.computeIfPresent(vertex, (k, v) -> {
-            v.computeIfPresent(key, (k1, v1) -> {
-                v1.remove(property);
-                return v1;
-            });
-            return v;
-        });
+    /**
+     * Get the properties of a slot. If {@code transientRaw} is false, a raw value is turned into a property that is
+     * meant to be stored in the slot.
+     */
+    private ComputeProperty[] toProperties(final TinkerVertex vertex, final String key, final int column, final int ordinal, final Object slot, final boolean transientRaw) {
+        if (null == slot)
+            return new ComputeProperty[0];
+        else if (slot instanceof ComputeProperty[])
+            return (ComputeProperty[]) slot;
+        else if (slot instanceof ComputeProperty)
+            return new ComputeProperty[]{(ComputeProperty) slot};
+        else {
+            final ComputeProperty<?> property = new ComputeProperty<>(vertex, key, slot, column, ordinal);
+            if (!transientRaw)
+                property.raw = false;
+            return new ComputeProperty[]{property};
+        }
     }
 
-    private List<VertexProperty> getValue(final Vertex vertex, final String key) {
-        return this.computeProperties.getOrDefault(vertex, Collections.emptyMap()).getOrDefault(key, Collections.emptyList());
+    /**
+     * Store a raw value property into its slot as it is about to be given meta-properties.
+     */
+    private void materialize(final ComputeProperty<?> property) {
+        while (property.raw) {
+            final Object slot = this.columns[property.column].get(property.ordinal);
+            if (property.value() != slot || this.columns[property.column].compareAndSet(property.ordinal, slot, property))
+                property.raw = false;
+        }
     }
 
-    public boolean isComputeKey(final String key) {
-        return this.computeKeys.contains(key);
+    private final class ComputeProperty<V> extends TinkerVertexProperty<V> {
+
+        private final int column;
+        private final int ordinal;
+        private volatile boolean raw;
+
+        /**
+         * A new property with a generated identifier.
+         */
+        private ComputeProperty(final TinkerVertex vertex, final String key, final V value) {
+            super(vertex, key, value);
+            this.column = -1;
+            this.ordinal = -1;
+            this.raw = false;
+        }
+
+        /**
+         * A property of the raw value in the slot of the provided column and vertex ordinal.
+         */
+        private ComputeProperty(final TinkerVertex vertex, final String key, final V value, final int column, final int ordinal) {
+            super(new RawId(column, ordinal, value), vertex, key, value);
+            this.column = column;
+            this.ordinal = ordinal;
+            this.raw = true;
+        }
+
+        @Override
+        public <U> Property<U> property(final String key, final U value) {
+            materialize(this);
+            return super.property(key, value);
+        }
+
+        @Override
+        public void remove() {
+            removeProperty((TinkerVertex) this.element(), this.key(), this);
+        }
+    }
+
+    /**
+     * The identifier of the property of a raw value. As a raw value is stored without an identifier, the identifier
+     * is derived from the slot and the identity of the value so that a property of a value that was since replaced
+     * does not identify the property of the new value. It is of its own type and thus, it does not collide with the
+     * identifiers of other properties.
+     */
+    private static final class RawId {
+
+        private final int column;
+        private final int ordinal;
+        private final Object value;
+
+        private RawId(final int column, final int ordinal, final Object value) {
+            this.column = column;
+            this.ordinal = ordinal;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (!(object instanceof RawId))
+                return false;
+            final RawId other = (RawId) object;
+            return this.column == other.column && this.ordinal == other.ordinal && this.value == other.value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * this.column + this.ordinal) + System.identityHashCode(this.value);
+        }
+
+        @Override
+        public String toString() {
+            return this.column + ":" + this.ordinal + ":" + Integer.toHexString(System.identityHashCode(this.value));
+        }
     }
-}
\ No newline at end of file
+}
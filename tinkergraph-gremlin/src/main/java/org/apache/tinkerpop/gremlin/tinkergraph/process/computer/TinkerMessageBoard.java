@@ -18,29 +18,332 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.traversal.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerEdge;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 
 /**
+ * The messages of an iteration are buffered in arrays indexed by the ordinal of their receiving vertex (see
+ * {@link TinkerVertexOrdinals}). When the vertex program has a {@link MessageCombiner}, a slot holds the
+ * combined message itself, else it holds a list of the messages. Combined {@link Double} messages are held unboxed in
+ * a {@code double[]} that is allocated on the first such message. The send and receive buffers are swapped at the
+ * end of every iteration and thus, no buffers are allocated across iterations. Concurrent sends are guarded by a
+ * fixed number of striped locks as combiners may mutate the message they combine into.
+ * <p/>
+ * A {@link MessageScope.Local} whose incident traversal is a lone {@code outE()}, {@code inE()} or {@code bothE()}
+ * (optionally with edge labels) is compiled once per job into a {@link LocalRoute}, a table of the ordinals of the
+ * vertices that receive the messages of each vertex and of those that send messages to it. Sending and receiving
+ * along a compiled route thus never resolves the ordinal of a vertex. Any other incident traversal is left to
+ * {@link TinkerMessenger} to evaluate per vertex.
+ * <p/>
+ * A vertex that voted to halt is only activated again by a message to it. A global message marks its receiving
+ * vertex as active for the next iteration. As local messages are buffered at their sending vertex, the first message
+ * buffered at a vertex along a compiled route marks the vertices that receive it along the route. Thus, whether a
+ * halted vertex is executed is known in constant time. However, every halted vertex is activated if an incident
+ * traversal could not be compiled as its receiving vertices are unknown.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 class TinkerMessageBoard<M> {
 
-    public Map<Vertex, Queue<M>> sendMessages = new ConcurrentHashMap<>();
-    public Map<Vertex, Queue<M>> receiveMessages = new ConcurrentHashMap<>();
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * The slot of a combined {@link Double} message whose value is held in the {@code double[]} of the buffer.
+     */
+    private static final Object DOUBLE_MESSAGE = new Object();
+
+    private final TinkerVertexOrdinals ordinals;
+    private final MessageCombiner<M> combiner;
+    private final Map<MessageScope, Optional<LocalRoute>> localRoutes = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private Object[] sendMessages;
+    private Object[] receiveMessages;
+    private volatile double[] sendValues;
+    private double[] receiveValues;
+    private final boolean[] halted;
+    private boolean[] sendActive;
+    private boolean[] receiveActive;
+    private volatile boolean sendActivateAll = false;
+    private boolean receiveActivateAll = false;
     public Set<MessageScope> previousMessageScopes = new HashSet<>();
-    public Set<MessageScope> currentMessageScopes = new HashSet<>();
+    public Set<MessageScope> currentMessageScopes = ConcurrentHashMap.newKeySet();
+
+    public TinkerMessageBoard(final TinkerVertexOrdinals ordinals, final Optional<MessageCombiner<M>> combiner) {
+        this.ordinals = ordinals;
+        this.combiner = combiner.orElse(null);
+        this.sendMessages = new Object[ordinals.size()];
+        this.receiveMessages = new Object[ordinals.size()];
+        this.halted = new boolean[ordinals.size()];
+        this.sendActive = new boolean[ordinals.size()];
+        this.receiveActive = new boolean[ordinals.size()];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            this.locks[i] = new Object();
+        }
+    }
+
+    public void sendMessage(final Vertex vertex, final M message) {
+        this.sendMessage(this.getOrdinal(vertex), message);
+    }
+
+    public void sendMessage(final int ordinal, final M message) {
+        this.checkOrdinal(ordinal);
+        this.bufferMessage(ordinal, message);
+        this.sendActive[ordinal] = true;
+    }
+
+    /**
+     * Buffer a local message at its sending vertex and, if it is the first message buffered there in this iteration,
+     * mark the vertices that receive it as active.
+     */
+    public void sendMessage(final MessageScope.Local<M> messageScope, final int ordinal, final M message) {
+        this.checkOrdinal(ordinal);
+        if (!this.bufferMessage(ordinal, message))
+            return;
+        final LocalRoute localRoute = this.localRoutes.computeIfAbsent(messageScope, scope -> Optional.ofNullable(compileLocalRoute((MessageScope.Local<M>) scope))).orElse(null);
+        if (null == localRoute)
+            this.sendActivateAll = true;
+        else
+            localRoute.activateReceivers(ordinal);
+    }
+
+    /**
+     * @return whether the message is the first message buffered at the vertex in this iteration
+     */
+    private boolean bufferMessage(final int ordinal, final M message) {
+        final Object[] messages = this.sendMessages;
+        final double[] values = null != this.combiner && message instanceof Double ? this.getSendValues() : null;
+        synchronized (this.locks[ordinal & (LOCK_STRIPES - 1)]) {
+            final Object current = messages[ordinal];
+            if (DOUBLE_MESSAGE == current)
+                values[ordinal] = ((Double) this.combiner.combine((M) (Double) values[ordinal], message)).doubleValue();
+            else if (null != values && null == current) {
+                values[ordinal] = ((Double) message).doubleValue();
+                messages[ordinal] = DOUBLE_MESSAGE;
+            } else if (null != this.combiner)
+                messages[ordinal] = null == current ? message : this.combiner.combine((M) current, message);
+            else if (null == current) {
+                final List<M> list = new ArrayList<>(1);
+                list.add(message);
+                messages[ordinal] = list;
+            } else
+                ((List<M>) current).add(message);
+            return null == current;
+        }
+    }
+
+    private double[] getSendValues() {
+        double[] values = this.sendValues;
+        if (null == values) {
+            synchronized (this) {
+                values = this.sendValues;
+                if (null == values) {
+                    values = new double[this.ordinals.size()];
+                    this.sendValues = values;
+                }
+            }
+        }
+        return values;
+    }
+
+    public Iterator<M> receiveMessages(final Vertex vertex) {
+        return this.receiveMessages(this.getOrdinal(vertex));
+    }
+
+    public Iterator<M> receiveMessages(final int ordinal) {
+        this.checkOrdinal(ordinal);
+        final Object messages = this.receiveMessages[ordinal];
+        if (null == messages)
+            return Collections.emptyIterator();
+        else if (DOUBLE_MESSAGE == messages)
+            return IteratorUtils.of((M) (Double) this.receiveValues[ordinal]);
+        else
+            return null == this.combiner ? ((List<M>) messages).iterator() : IteratorUtils.of((M) messages);
+    }
+
+    public void voteToHalt(final int ordinal) {
+        this.halted[ordinal] = true;
+    }
+
+    private int getOrdinal(final Vertex vertex) {
+        final int ordinal = this.ordinals.getOrdinal(vertex);
+        if (-1 == ordinal)
+            throw new IllegalStateException("The vertex was not part of the graph computation: " + vertex);
+        return ordinal;
+    }
+
+    private void checkOrdinal(final int ordinal) {
+        if (!this.ordinals.contains(ordinal))
+            throw new IllegalStateException("The ordinal is not the ordinal of a vertex of the graph computation: " + ordinal);
+    }
+
+    /**
+     * Determine whether the vertex is to be executed in the current iteration. A halted vertex is activated if it
+     * has incoming messages. A vertex is only ever activated by the worker executing it.
+     */
+    public boolean activate(final int ordinal) {
+        if (!this.halted[ordinal])
+            return true;
+        if (!this.receiveActive[ordinal] && !this.receiveActivateAll)
+            return false;
+        this.halted[ordinal] = false;
+        return true;
+    }
 
     public void completeIteration() {
+        final Object[] messages = this.receiveMessages;
+        Arrays.fill(messages, null);
         this.receiveMessages = this.sendMessages;
-        this.sendMessages = new ConcurrentHashMap<>();
+        this.sendMessages = messages;
+        final double[] values = this.receiveValues;
+        this.receiveValues = this.sendValues;
+        this.sendValues = values;
+        final boolean[] active = this.receiveActive;
+        Arrays.fill(active, false);
+        this.receiveActive = this.sendActive;
+        this.sendActive = active;
+        this.receiveActivateAll = this.sendActivateAll;
+        this.sendActivateAll = false;
         this.previousMessageScopes = this.currentMessageScopes;
-        this.currentMessageScopes = new HashSet<>();
+        this.currentMessageScopes = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Get the compiled route of a local message scope that was used in the previous iteration.
+     *
+     * @return the route or {@code null} if the incident traversal of the message scope could not be compiled
+     */
+    public LocalRoute getLocalRoute(final MessageScope.Local<M> messageScope) {
+        final Optional<LocalRoute> localRoute = this.localRoutes.get(messageScope);
+        return null == localRoute ? null : localRoute.orElse(null);
+    }
+
+    private LocalRoute compileLocalRoute(final MessageScope.Local<M> messageScope) {
+        final List<Step> steps = messageScope.getIncidentTraversal().get().asAdmin().getSteps();
+        if (steps.size() != 1 || !steps.get(0).getClass().equals(VertexStep.class))
+            return null;
+        final VertexStep<?> vertexStep = (VertexStep) steps.get(0);
+        return Edge.class.equals(vertexStep.getReturnClass()) ?
+                new LocalRoute(vertexStep.getDirection(), vertexStep.getEdgeLabels(), messageScope.getEdgeFunction()) :
+                null;
+    }
+
+    /**
+     * The messages sent along the edges of an incident traversal are received along the same edges in the opposite
+     * direction. The receivers of the messages of the vertex of ordinal {@code o} are
+     * {@code receivers[receiverOffsets[o]]} up to {@code receivers[receiverOffsets[o + 1]]} and likewise, the
+     * vertices sending messages to it are {@code senders[senderOffsets[o]]} up to
+     * {@code senders[senderOffsets[o + 1]]}, where {@code senderEdges} holds the edges the messages are received along.
+     * The tables are filled from the adjacency of the vertices when the route is compiled and the ordinal of a vertex
+     * is thus only resolved once per edge and job.
+     */
+    public final class LocalRoute {
+
+        private final BiFunction<M, Edge, M> edgeFunction;
+        private final int[] receiverOffsets;
+        private final int[] receivers;
+        private final int[] senderOffsets;
+        private final int[] senders;
+        private final TinkerEdge[] senderEdges;
+
+        private LocalRoute(final Direction direction, final String[] edgeLabels, final BiFunction<M, Edge, M> edgeFunction) {
+            this.edgeFunction = edgeFunction;
+            final Direction reverseDirection = direction.opposite();
+            final int size = ordinals.size();
+            this.receiverOffsets = new int[size + 1];
+            int[] receivers = new int[size];
+            TinkerEdge[] edges = new TinkerEdge[size];
+            int count = 0;
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                this.receiverOffsets[ordinal] = count;
+                final TinkerVertex vertex = ordinals.getVertex(ordinal);
+                final Iterator<TinkerEdge> vertexEdges = TinkerHelper.getEdges(vertex, direction, edgeLabels);
+                while (vertexEdges.hasNext()) {
+                    final TinkerEdge edge = vertexEdges.next();
+                    if (count == receivers.length) {
+                        receivers = Arrays.copyOf(receivers, count * 2);
+                        edges = Arrays.copyOf(edges, count * 2);
+                    }
+                    receivers[count] = getOrdinal(TinkerMessenger.getSendingVertex(edge, vertex, reverseDirection));
+                    edges[count++] = edge;
+                }
+            }
+            this.receiverOffsets[size] = count;
+            this.receivers = receivers;
+
+            this.senderOffsets = new int[size + 1];
+            for (int i = 0; i < count; i++) {
+                this.senderOffsets[receivers[i] + 1]++;
+            }
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                this.senderOffsets[ordinal + 1] += this.senderOffsets[ordinal];
+            }
+            final int[] cursors = Arrays.copyOf(this.senderOffsets, size);
+            this.senders = new int[count];
+            this.senderEdges = new TinkerEdge[count];
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                for (int i = this.receiverOffsets[ordinal]; i < this.receiverOffsets[ordinal + 1]; i++) {
+                    final int slot = cursors[receivers[i]]++;
+                    this.senders[slot] = ordinal;
+                    this.senderEdges[slot] = edges[i];
+                }
+            }
+        }
+
+        /**
+         * Mark the vertices that receive the messages of the sending vertex as active for the next iteration.
+         */
+        private void activateReceivers(final int ordinal) {
+            for (int i = this.receiverOffsets[ordinal]; i < this.receiverOffsets[ordinal + 1]; i++) {
+                sendActive[this.receivers[i]] = true;
+            }
+        }
+
+        public Iterator<M> receiveMessages(final int ordinal) {
+            return new Iterator<M>() {
+                private int index = senderOffsets[ordinal];
+                private Iterator<M> messages = Collections.emptyIterator();
+                private TinkerEdge edge;
+
+                @Override
+                public boolean hasNext() {
+                    while (!this.messages.hasNext()) {
+                        if (this.index >= senderOffsets[ordinal + 1])
+                            return false;
+                        this.messages = TinkerMessageBoard.this.receiveMessages(senders[this.index]);
+                        this.edge = senderEdges[this.index++];
+                    }
+                    return true;
+                }
+
+                @Override
+                public M next() {
+                    if (!this.hasNext())
+                        throw FastNoSuchElementException.instance();
+                    return edgeFunction.apply(this.messages.next(), this.edge);
+                }
+            };
+        }
     }
 }
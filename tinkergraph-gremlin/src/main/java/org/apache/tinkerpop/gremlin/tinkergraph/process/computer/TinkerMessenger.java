@@ -18,7 +18,6 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
-import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.process.computer.Messenger;
 import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramHelper;
@@ -29,19 +28,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
-import org.apache.tinkerpop.gremlin.util.StreamFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.gremlin.util.iterator.MultiIterator;
 
-import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Optional;
-import java.util.Queue;
-import java.util.Set;
-import java.util.Spliterator;
-import java.util.Spliterators;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -49,13 +39,13 @@ import java.util.stream.StreamSupport;
 public class TinkerMessenger<M> implements Messenger<M> {
 
     private final Vertex vertex;
+    private final int ordinal;
     private final TinkerMessageBoard<M> messageBoard;
-    private final MessageCombiner<M> combiner;
 
-    public TinkerMessenger(final Vertex vertex, final TinkerMessageBoard<M> messageBoard, final Optional<MessageCombiner<M>> combiner) {
+    public TinkerMessenger(final Vertex vertex, final int ordinal, final TinkerMessageBoard<M> messageBoard) {
         this.vertex = vertex;
+        this.ordinal = ordinal;
         this.messageBoard = messageBoard;
-        this.combiner = combiner.isPresent() ? combiner.get() : null;
     }
 
     @Override
@@ -64,22 +54,17 @@ public class TinkerMessenger<M> implements Messenger<M> {
         for (final MessageScope messageScope : this.messageBoard.previousMessageScopes) {
             if (messageScope instanceof MessageScope.Local) {
                 final MessageScope.Local<M> localMessageScope = (MessageScope.Local) messageScope;
-                final Traversal.Admin<Vertex, Edge> incidentTraversal = TinkerMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), this.vertex);
-                final Direction direction = TinkerMessenger.getDirection(incidentTraversal);
-                final Edge[] edge = new Edge[1]; // simulates storage side-effects available in Gremlin, but not Java8 streams
-                multiIterator.addIterator(StreamSupport.stream(Spliterators.spliteratorUnknownSize(VertexProgramHelper.reverse(incidentTraversal.asAdmin()), Spliterator.IMMUTABLE | Spliterator.SIZED), false)
-                        .map(e -> this.messageBoard.receiveMessages.get((edge[0] = e).vertices(direction).next()))
-                        .filter(q -> null != q)
-                        .flatMap(q -> q.stream())
-                        .map(message -> localMessageScope.getEdgeFunction().apply(message, edge[0]))
-                        .iterator());
-
+                final TinkerMessageBoard<M>.LocalRoute localRoute = this.messageBoard.getLocalRoute(localMessageScope);
+                if (null != localRoute) {
+                    multiIterator.addIterator(localRoute.receiveMessages(this.ordinal));
+                } else {
+                    final Traversal.Admin<Vertex, Edge> incidentTraversal = TinkerMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), this.vertex);
+                    final Direction direction = TinkerMessenger.getDirection(incidentTraversal);
+                    multiIterator.addIterator(IteratorUtils.flatMap(VertexProgramHelper.reverse(incidentTraversal.asAdmin()),
+                            edge -> IteratorUtils.map(this.messageBoard.receiveMessages(TinkerMessenger.getSendingVertex(edge, this.vertex, direction)), message -> localMessageScope.getEdgeFunction().apply(message, edge))));
+                }
             } else {
-                multiIterator.addIterator(Stream.of(this.vertex)
-                        .map(this.messageBoard.receiveMessages::get)
-                        .filter(q -> null != q)
-                        .flatMap(q -> q.stream())
-                        .iterator());
+                multiIterator.addIterator(this.messageBoard.receiveMessages(this.ordinal));
             }
         }
         return multiIterator;
@@ -89,17 +74,21 @@ public class TinkerMessenger<M> implements Messenger<M> {
     public void sendMessage(final MessageScope messageScope, final M message) {
         this.messageBoard.currentMessageScopes.add(messageScope);
         if (messageScope instanceof MessageScope.Local) {
-            addMessage(this.vertex, message);
+            this.messageBoard.sendMessage((MessageScope.Local<M>) messageScope, this.ordinal, message);
         } else {
-            ((MessageScope.Global) messageScope).vertices().forEach(v -> addMessage(v, message));
+            for (final Vertex vertex : ((MessageScope.Global) messageScope).vertices()) {
+                // the vertex being executed need not be resolved to its ordinal
+                if (vertex == this.vertex)
+                    this.messageBoard.sendMessage(this.ordinal, message);
+                else
+                    this.messageBoard.sendMessage(vertex, message);
+            }
         }
     }
 
-    private final void addMessage(final Vertex vertex, final M message) {
-        final Queue<M> queue = this.messageBoard.sendMessages.computeIfAbsent(vertex, v -> new ConcurrentLinkedQueue<>());
-        synchronized (queue) {
-            queue.add(null != this.combiner && !queue.isEmpty() ? this.combiner.combine(queue.remove(), message) : message);
-        }
+    @Override
+    public void voteToHalt() {
+        this.messageBoard.voteToHalt(this.ordinal);
     }
 
     ///////////
@@ -114,4 +103,20 @@ public class TinkerMessenger<M> implements Messenger<M> {
         final VertexStep step = TraversalHelper.getLastStepOfAssignableClass(VertexStep.class, incidentTraversal).get();
         return step.getDirection();
     }
+
+    /**
+     * Get the vertex that sent a message along the provided edge to the receiving vertex. For {@link Direction#BOTH},
+     * this is the end of the edge that is not the receiving vertex.
+     */
+    static Vertex getSendingVertex(final Edge edge, final Vertex receivingVertex, final Direction direction) {
+        switch (direction) {
+            case OUT:
+                return edge.outVertex();
+            case IN:
+                return edge.inVertex();
+            default:
+                final Vertex outVertex = edge.outVertex();
+                return outVertex.equals(receivingVertex) ? edge.inVertex() : outVertex;
+        }
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.LinkedObjectLongMap;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.List;
+
+/**
+ * The dense ordinals in {@code [0, vertexCount)} of the vertices of a {@link TinkerGraph} for the duration of a
+ * {@link GraphComputer} job, by which the buffers of the job are indexed. The ordinals are held by the job rather
+ * than by the vertices so that the graph carries no computer state. The ordinal of a vertex is looked up by its id in
+ * a {@link LinkedObjectLongMap} and thus, the vertex need not be a {@link TinkerVertex} itself.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public final class TinkerVertexOrdinals {
+
+    private final TinkerVertex[] vertices;
+    private final LinkedObjectLongMap<Object> ordinals = new LinkedObjectLongMap<>();
+
+    public TinkerVertexOrdinals(final TinkerGraph graph) {
+        final List<Vertex> vertices = IteratorUtils.list(graph.vertices());
+        this.vertices = vertices.toArray(new TinkerVertex[vertices.size()]);
+        for (int i = 0; i < this.vertices.length; i++) {
+            this.ordinals.append(this.vertices[i].id(), i);
+        }
+    }
+
+    public int size() {
+        return this.vertices.length;
+    }
+
+    public TinkerVertex getVertex(final int ordinal) {
+        return this.vertices[ordinal];
+    }
+
+    /**
+     * @return the ordinal of the vertex or {@code -1} if the vertex is not part of the job
+     */
+    public int getOrdinal(final Vertex vertex) {
+        final int index = this.ordinals.indexOf(vertex.id());
+        return -1 == index ? -1 : (int) this.ordinals.valueAt(index);
+    }
+
+    /**
+     * @return whether the ordinal is the ordinal of a vertex of the job
+     */
+    public boolean contains(final int ordinal) {
+        return ordinal >= 0 && ordinal < this.vertices.length;
+    }
+}
@@ -25,11 +25,23 @@ import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.util.MapReducePool;
 import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramPool;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
 
 /**
+ * The workers execute a vertex program or map reduce job over an indexed range of items (e.g. the vertices by their
+ * ordinal). The range is split into one partition per worker and a worker claims chunks of its own partition with an
+ * atomic counter. A worker that exhausts its partition steals chunks from the partitions of the other workers and
+ * thus, no worker sits idle while another is stuck on a high degree vertex.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
@@ -37,6 +49,16 @@ public class TinkerWorkerPool implements AutoCloseable {
 
     private static final BasicThreadFactory threadFactoryWorker = new BasicThreadFactory.Builder().namingPattern("tinker-worker-%d").build();
 
+    /**
+     * The maximum number of items a worker claims at once.
+     */
+    private static final int MAX_CHUNK_SIZE = 1024;
+
+    /**
+     * The number of chunks each partition is split into at a minimum so that there is work left to steal.
+     */
+    private static final int CHUNKS_PER_PARTITION = 16;
+
     private final int numberOfWorkers;
     private final ExecutorService workerPool;
 
@@ -66,16 +88,17 @@ public class TinkerWorkerPool implements AutoCloseable {
         this.vertexProgramPool.workerIterationEnd(memory);
     }
 
-    public void executeVertexProgram(final Consumer<VertexProgram> worker) {
-        try {
-            this.workerPool.submit(() -> {
-                final VertexProgram vp = this.vertexProgramPool.take();
-                worker.accept(vp);
+    /**
+     * Execute the vertex program for every index in {@code [0, size)} across the workers.
+     */
+    public void executeVertexProgram(final int size, final ObjIntConsumer<VertexProgram> worker) {
+        this.execute(size, this.numberOfWorkers, () -> {
+            final VertexProgram vp = this.vertexProgramPool.take();
+            return partition -> {
+                partition.forEachRemaining(index -> worker.accept(vp, index));
                 this.vertexProgramPool.offer(vp);
-            }).get();
-        } catch (final Exception e) {
-            throw new IllegalStateException(e.getMessage(), e);
-        }
+            };
+        });
     }
 
     ///
@@ -88,15 +111,34 @@ public class TinkerWorkerPool implements AutoCloseable {
         this.mapReducePool.workerEnd(stage);
     }
 
+    /**
+     * Execute the map reduce job for every index in {@code [0, size)} across the workers. If the job is not
+     * {@code parallel}, all indices are processed by a single worker in order.
+     */
+    public void executeMapReduce(final int size, final boolean parallel, final ObjIntConsumer<MapReduce> worker) {
+        this.execute(size, parallel ? this.numberOfWorkers : 1, () -> {
+            final MapReduce mr = this.mapReducePool.take();
+            return partition -> {
+                partition.forEachRemaining(index -> worker.accept(mr, index));
+                this.mapReducePool.offer(mr);
+            };
+        });
+    }
 
-    public void executeMapReduce(final Consumer<MapReduce> worker) {
+    private void execute(final int size, final int numberOfWorkers, final Supplier<Consumer<Partition>> workerFactory) {
+        final int workers = Math.max(1, Math.min(numberOfWorkers, size));
+        final Partitions partitions = new Partitions(size, workers);
+        final List<Future<?>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            final int workerIndex = i;
+            futures.add(this.workerPool.submit(() -> workerFactory.get().accept(partitions.get(workerIndex))));
+        }
         try {
-            this.workerPool.submit(() -> {
-                final MapReduce mr = this.mapReducePool.take();
-                worker.accept(mr);
-                this.mapReducePool.offer(mr);
-            }).get();
+            for (final Future<?> future : futures) {
+                future.get();
+            }
         } catch (final Exception e) {
+            futures.forEach(future -> future.cancel(true));
             throw new IllegalStateException(e.getMessage(), e);
         }
     }
@@ -105,4 +147,68 @@ public class TinkerWorkerPool implements AutoCloseable {
     public void close() throws Exception {
         workerPool.shutdown();
     }
-}
\ No newline at end of file
+
+    ////
+
+    private static final class Partitions {
+
+        private final AtomicInteger[] cursors;
+        private final int[] ends;
+        private final int chunkSize;
+
+        private Partitions(final int size, final int numberOfPartitions) {
+            this.cursors = new AtomicInteger[numberOfPartitions];
+            this.ends = new int[numberOfPartitions];
+            for (int i = 0; i < numberOfPartitions; i++) {
+                this.cursors[i] = new AtomicInteger((int) ((long) size * i / numberOfPartitions));
+                this.ends[i] = (int) ((long) size * (i + 1) / numberOfPartitions);
+            }
+            this.chunkSize = Math.max(1, Math.min(MAX_CHUNK_SIZE, size / (numberOfPartitions * CHUNKS_PER_PARTITION)));
+        }
+
+        private Partition get(final int partition) {
+            return new Partition(this, partition);
+        }
+
+        /**
+         * Claim the next chunk of the provided partition.
+         *
+         * @return the first index of the chunk or {@code -1} if the partition is exhausted
+         */
+        private int claim(final int partition) {
+            if (this.cursors[partition].get() >= this.ends[partition])
+                return -1;
+            final int start = this.cursors[partition].getAndAdd(this.chunkSize);
+            return start < this.ends[partition] ? start : -1;
+        }
+    }
+
+    private static final class Partition {
+
+        private final Partitions partitions;
+        private final int partition;
+
+        private Partition(final Partitions partitions, final int partition) {
+            this.partitions = partitions;
+            this.partition = partition;
+        }
+
+        /**
+         * Process the chunks of this partition and then steal the remaining chunks of the other partitions.
+         */
+        private void forEachRemaining(final IntConsumer consumer) {
+            final int numberOfPartitions = this.partitions.ends.length;
+            for (int i = 0; i < numberOfPartitions; i++) {
+                final int victim = (this.partition + i) % numberOfPartitions;
+                final int end = this.partitions.ends[victim];
+                int start;
+                while (-1 != (start = this.partitions.claim(victim))) {
+                    final int chunkEnd = Math.min(end, start + this.partitions.chunkSize);
+                    for (int index = start; index < chunkEnd; index++) {
+                        consumer.accept(index);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.branch;
+
+import org.apache.tinkerpop.gremlin.process.traversal.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.decoration.TinkerGraphParallelStrategy;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A step that processes its starts through a linear chain of steps with one clone of the chain per worker of the
+ * graph's parallel pool (see {@link TinkerHelper#getParallelPool(TinkerGraph)}). The calling thread partitions the
+ * starts into chunks which the workers take from a bounded queue on demand so that skewed partitions are balanced out
+ * and the workers never contend on the starts. Each worker collects its results and the results of all the workers
+ * are emitted to the next step, which is a barrier and thus, reduces them as it would have if the chain had been
+ * processed serially. The results of a worker are only bulked if the traversal requires
+ * {@link TraverserRequirement#BULK}, otherwise every traverser is emitted as is. This step is introduced by
+ * {@link TinkerGraphParallelStrategy}.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public final class TinkerGraphParallelStep<S, E> extends AbstractStep<S, E> implements TraversalParent {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final long TIMEOUT_MS = 100l;
+
+    private Traversal.Admin<S, E> partitionTraversal;
+    private Iterator<Traverser.Admin<E>> ends = null;
+
+    public TinkerGraphParallelStep(final Traversal.Admin traversal, final Traversal.Admin<S, E> partitionTraversal) {
+        super(traversal);
+        this.partitionTraversal = this.integrateChild(partitionTraversal);
+    }
+
+    @Override
+    protected Traverser<E> processNextStart() throws NoSuchElementException {
+        if (null == this.ends)
+            this.ends = this.processPartitions();
+        if (this.ends.hasNext())
+            return this.ends.next();
+        throw FastNoSuchElementException.instance();
+    }
+
+    private Iterator<Traverser.Admin<E>> processPartitions() {
+        final ForkJoinPool pool = TinkerHelper.getParallelPool((TinkerGraph) this.getTraversal().getGraph().get());
+        final boolean bulk = this.getTraversal().getTraverserRequirements().contains(TraverserRequirement.BULK);
+        final BlockingQueue<List<Traverser.Admin<S>>> chunks = new ArrayBlockingQueue<>(pool.getParallelism() << 1);
+        final List<ForkJoinTask<Collection<Traverser.Admin<E>>>> tasks = new ArrayList<>();
+        for (int i = 0; i < pool.getParallelism(); i++) {
+            final Traversal.Admin<S, E> partition = this.integrateChild(this.partitionTraversal.clone());
+            tasks.add(pool.submit(() -> processPartition(partition, chunks, bulk)));
+        }
+        try {
+            List<Traverser.Admin<S>> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (this.starts.hasNext()) {
+                chunk.add(this.starts.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    offerChunk(chunk, chunks, tasks);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!chunk.isEmpty())
+                offerChunk(chunk, chunks, tasks);
+            for (int i = 0; i < tasks.size(); i++) {
+                offerChunk(Collections.emptyList(), chunks, tasks);
+            }
+        } catch (final RuntimeException e) {
+            // release the workers that are still waiting on chunks -- only this thread offers so there is capacity
+            chunks.clear();
+            for (int i = 0; i < tasks.size(); i++) {
+                chunks.offer(Collections.emptyList());
+            }
+            throw e;
+        }
+        return IteratorUtils.flatMap(tasks.iterator(), task -> task.join().iterator());
+    }
+
+    private static <S> void offerChunk(final List<Traverser.Admin<S>> chunk, final BlockingQueue<List<Traverser.Admin<S>>> chunks, final List<? extends ForkJoinTask<?>> tasks) {
+        try {
+            while (!chunks.offer(chunk, TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                for (final ForkJoinTask<?> task : tasks) {
+                    if (task.isCompletedAbnormally())
+                        task.join();
+                }
+            }
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static <S, E> Collection<Traverser.Admin<E>> processPartition(final Traversal.Admin<S, E> partition, final BlockingQueue<List<Traverser.Admin<S>>> chunks, final boolean bulk) {
+        final Collection<Traverser.Admin<E>> results = bulk ? new TraverserSet<>() : new ArrayList<>();
+        try {
+            List<Traverser.Admin<S>> chunk;
+            while (!(chunk = chunks.take()).isEmpty()) {
+                for (final Traverser.Admin<S> start : chunk) {
+                    partition.addStart(start);
+                }
+                while (partition.hasNext()) {
+                    results.add(partition.getEndStep().next().asAdmin());
+                }
+            }
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return results;
+    }
+
+    @Override
+    public List<Traversal.Admin<S, E>> getGlobalChildren() {
+        return Collections.singletonList(this.partitionTraversal);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.getSelfAndChildRequirements();
+    }
+
+    @Override
+    public TinkerGraphParallelStep<S, E> clone() {
+        final TinkerGraphParallelStep<S, E> clone = (TinkerGraphParallelStep<S, E>) super.clone();
+        clone.partitionTraversal = clone.integrateChild(this.partitionTraversal.clone());
+        clone.ends = null;
+        return clone;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.partitionTraversal.reset();
+        this.ends = null;
+    }
+
+    @Override
+    public String toString() {
+        return TraversalHelper.makeStepString(this, this.partitionTraversal);
+    }
+}
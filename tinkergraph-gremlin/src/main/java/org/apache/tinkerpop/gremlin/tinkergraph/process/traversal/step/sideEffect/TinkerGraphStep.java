@@ -19,22 +19,24 @@
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect;
 
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
-import org.apache.tinkerpop.gremlin.structure.Compare;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphStepStrategy;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerEdge;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -43,6 +45,8 @@ import java.util.stream.Collectors;
 public class TinkerGraphStep<S extends Element> extends GraphStep<S> implements HasContainerHolder {
 
     public final List<HasContainer> hasContainers = new ArrayList<>();
+    private long limit = -1;
+    private boolean streaming = false;
 
     public TinkerGraphStep(final GraphStep<S> originalGraphStep) {
         super(originalGraphStep.getTraversal(), originalGraphStep.getReturnClass(), originalGraphStep.getIds());
@@ -54,38 +58,28 @@ public class TinkerGraphStep<S extends Element> extends GraphStep<S> implements
 
     private Iterator<? extends Edge> edges() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Edge.class);
         // ids are present, filter on them first
         if (this.ids != null && this.ids.length > 0)
             return this.iteratorList(graph.edges(this.ids));
-        else
-            return null == indexedContainer ?
-                    this.iteratorList(graph.edges()) :
-                    TinkerHelper.queryEdgeIndex(graph, indexedContainer.key, indexedContainer.value).stream()
-                            .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
-                            .collect(Collectors.<Edge>toList()).iterator();
+        Iterator<TinkerEdge> indexedEdges = TinkerHelper.queryEdgeIndex(graph, this.hasContainers);
+        if (null == indexedEdges)
+            indexedEdges = TinkerHelper.queryEdgeLabels(graph, this.hasContainers);
+        return null == indexedEdges ?
+                this.iteratorList(graph.edges()) :
+                this.iteratorList(indexedEdges);
     }
 
     private Iterator<? extends Vertex> vertices() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Vertex.class);
         // ids are present, filter on them first
         if (this.ids != null && this.ids.length > 0)
             return this.iteratorList(graph.vertices(this.ids));
-        else
-            return null == indexedContainer ?
-                    this.iteratorList(graph.vertices()) :
-                    TinkerHelper.queryVertexIndex(graph, indexedContainer.key, indexedContainer.value).stream()
-                            .filter(vertex -> HasContainer.testAll(vertex, this.hasContainers))
-                            .collect(Collectors.<Vertex>toList()).iterator();
-    }
-
-    private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
-        final Set<String> indexedKeys = ((TinkerGraph) this.getTraversal().getGraph().get()).getIndexedKeys(indexedClass);
-        return this.hasContainers.stream()
-                .filter(c -> indexedKeys.contains(c.key) && c.predicate.equals(Compare.eq))
-                .findAny()
-                .orElseGet(() -> null);
+        Iterator<TinkerVertex> indexedVertices = TinkerHelper.queryVertexIndex(graph, this.hasContainers);
+        if (null == indexedVertices)
+            indexedVertices = TinkerHelper.queryVertexLabels(graph, this.hasContainers);
+        return null == indexedVertices ?
+                this.iteratorList(graph.vertices()) :
+                this.iteratorList(indexedVertices);
     }
 
     public String toString() {
@@ -97,14 +91,44 @@ public class TinkerGraphStep<S extends Element> extends GraphStep<S> implements
                     TraversalHelper.makeStepString(this, this.returnClass.getSimpleName().toLowerCase(), Arrays.toString(this.ids), this.hasContainers);
     }
 
+    /**
+     * Lazily filter the elements by the {@link HasContainer} list so that no element is tested before it is needed.
+     * Unless the step is streaming, the elements are gathered up front so that elements added by the traversal are
+     * not iterated by the traversal itself (e.g. {@code g.V().addV()}).
+     */
     private final <E extends Element> Iterator<E> iteratorList(final Iterator<E> iterator) {
-        final List<E> list = new ArrayList<>();
-        while (iterator.hasNext()) {
-            final E e = iterator.next();
-            if (HasContainer.testAll(e, this.hasContainers))
-                list.add(e);
-        }
-        return list.iterator();
+        Iterator<E> filteredIterator = this.hasContainers.isEmpty() ?
+                iterator :
+                IteratorUtils.filter(iterator, element -> HasContainer.testAll(element, this.hasContainers));
+        if (-1 != this.limit)
+            filteredIterator = IteratorUtils.limit(filteredIterator, (int) Math.min(this.limit, Integer.MAX_VALUE));
+        return this.streaming ?
+                filteredIterator :
+                IteratorUtils.list(filteredIterator).iterator();
+    }
+
+    /**
+     * Set whether the elements are streamed from the graph as they are needed rather than gathered up front. It is
+     * set by {@link TinkerGraphStepStrategy} when the traversal can not mutate the graph.
+     */
+    public void setStreaming(final boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public boolean isStreaming() {
+        return this.streaming;
+    }
+
+    /**
+     * Set the maximum number of elements this step will produce. It is set by {@link TinkerGraphStepStrategy} when
+     * the step is directly followed by a {@link RangeGlobalStep} and is otherwise {@code -1} (unbounded).
+     */
+    public void setLimit(final long limit) {
+        this.limit = limit;
+    }
+
+    public long getLimit() {
+        return this.limit;
     }
 
     @Override
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.decoration;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TimeLimitStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FlatMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SupplyingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ProfileStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.branch.TinkerGraphParallelStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphStepStrategy;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code TinkerGraphParallelStrategy} processes the linear chain of steps between a {@link TinkerGraphStep} and the
+ * first barrier step of a traversal (e.g. {@code count()}, {@code groupCount()}, {@code fold()} or {@code order()})
+ * in parallel on the pool owned by the graph (see {@link TinkerGraph#CONFIG_PARALLELISM}). The elements of the graph
+ * step are partitioned amongst the workers of the pool and each worker processes its partition through its own clone of the chain. The barrier step then reduces
+ * the traversers of all the partitions as usual. The strategy leaves the traversal untouched if the chain contains
+ * steps that rely on seeing all traversers (e.g. {@code range()} or {@code dedup()}), lambdas, side-effects or
+ * mutations as these are not safe to be processed concurrently.
+ * <p/>
+ * <pre>
+ * g = graph.traversal(GraphTraversalSource.build().with(TinkerGraphParallelStrategy.instance()))
+ * g.V().out().out().count()   // the out().out() expansion is processed in parallel
+ * </pre>
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public final class TinkerGraphParallelStrategy extends AbstractTraversalStrategy {
+
+    private static final TinkerGraphParallelStrategy INSTANCE = new TinkerGraphParallelStrategy();
+    private static final Set<Class<? extends TraversalStrategy>> PRIORS = new HashSet<>();
+
+    static {
+        PRIORS.add(TinkerGraphStepStrategy.class);
+        PRIORS.add(ProfileStrategy.class);
+    }
+
+    private TinkerGraphParallelStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (traversal.getEngine().isComputer() || !(traversal.getParent() instanceof EmptyStep))
+            return;
+
+        final Step<?, ?> startStep = traversal.getStartStep();
+        if (!(startStep instanceof TinkerGraphStep) || !TraversalHelper.getStepsOfAssignableClassRecursively(LambdaHolder.class, traversal).isEmpty())
+            return;
+
+        final List<Step<?, ?>> partitionSteps = new ArrayList<>();
+        Step<?, ?> currentStep = startStep.getNextStep();
+        while (isPartitionable(currentStep)) {
+            partitionSteps.add(currentStep);
+            currentStep = currentStep.getNextStep();
+        }
+        if (partitionSteps.isEmpty() || !isBarrier(currentStep))
+            return;
+
+        final Traversal.Admin<Object, Object> partitionTraversal = new DefaultTraversal<>(traversal.getGraph().get());
+        for (final Step<?, ?> step : partitionSteps) {
+            traversal.removeStep(step);
+            step.setTraversal(partitionTraversal);
+            partitionTraversal.addStep(partitionTraversal.getSteps().size(), step);
+        }
+        traversal.addStep(traversal.getSteps().indexOf(startStep) + 1, new TinkerGraphParallelStep<>(traversal, partitionTraversal));
+    }
+
+    private static boolean isPartitionable(final Step<?, ?> step) {
+        if (!(step instanceof MapStep || step instanceof FlatMapStep || step instanceof FilterStep || step instanceof IdentityStep))
+            return false;
+        if (step instanceof RangeGlobalStep || step instanceof DedupGlobalStep || step instanceof TimeLimitStep || isShared(step))
+            return false;
+        return !(step instanceof TraversalParent) || isSafe((TraversalParent) step);
+    }
+
+    private static boolean isSafe(final TraversalParent parent) {
+        final List<Traversal.Admin<?, ?>> children = new ArrayList<>(parent.getGlobalChildren());
+        children.addAll(parent.getLocalChildren());
+        for (final Traversal.Admin<?, ?> child : children) {
+            for (final Step<?, ?> step : child.getSteps()) {
+                if (isShared(step) || (step instanceof TraversalParent && !isSafe((TraversalParent) step)))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isShared(final Step<?, ?> step) {
+        return step instanceof Mutating || step instanceof SideEffectCapable;
+    }
+
+    private static boolean isBarrier(final Step<?, ?> step) {
+        return step instanceof ReducingBarrierStep || step instanceof CollectingBarrierStep || step instanceof SupplyingBarrierStep;
+    }
+
+    @Override
+    public Set<Class<? extends TraversalStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public static TinkerGraphParallelStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.match.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.MatchWhereStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Compare;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Seeds the query plan of each {@link MatchStep} with branch factors estimated from the label counts and vertex
+ * indices of the {@link TinkerGraph}. A vertex step is estimated by the average degree of its edge labels and a
+ * has-container by the fraction of the vertices with the label or indexed property value it requires. Any other
+ * filter, and any label or property without an index, is assumed to pass half its objects.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TinkerGraphMatchStrategy extends AbstractTraversalStrategy {
+
+    private static final TinkerGraphMatchStrategy INSTANCE = new TinkerGraphMatchStrategy();
+    private static final Set<Class<? extends TraversalStrategy>> PRIORS = new HashSet<>();
+
+    private static final double DEFAULT_SELECTIVITY = 0.5;
+
+    static {
+        PRIORS.add(MatchWhereStrategy.class);
+    }
+
+    private TinkerGraphMatchStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (traversal.getEngine().isComputer() || !TraversalHelper.hasStepOfClass(MatchStep.class, traversal))
+            return;
+        if (!traversal.getGraph().isPresent() || !(traversal.getGraph().get() instanceof TinkerGraph))
+            return;
+
+        final TinkerGraph graph = (TinkerGraph) traversal.getGraph().get();
+        for (final MatchStep<?, ?> matchStep : TraversalHelper.getStepsOfClass(MatchStep.class, traversal)) {
+            matchStep.setCardinalityEstimator(matchTraversal -> estimateBranchFactor(graph, matchTraversal));
+        }
+    }
+
+    private static double estimateBranchFactor(final TinkerGraph graph, final Traversal.Admin<?, ?> traversal) {
+        final double vertices = Math.max(1l, TinkerHelper.countVertices(graph, null));
+        double branchFactor = 1.0;
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof VertexStep) {
+                final VertexStep<?> vertexStep = (VertexStep<?>) step;
+                double edges = 0.0;
+                if (0 == vertexStep.getEdgeLabels().length)
+                    edges = TinkerHelper.countEdges(graph, null);
+                else {
+                    for (final String label : vertexStep.getEdgeLabels()) {
+                        final long count = TinkerHelper.countEdges(graph, label);
+                        edges = edges + (-1 == count ? TinkerHelper.countEdges(graph, null) * DEFAULT_SELECTIVITY : count);
+                    }
+                }
+                branchFactor = branchFactor * (vertexStep.getDirection().equals(Direction.BOTH) ? 2.0 : 1.0) * edges / vertices;
+            } else if (step instanceof EdgeVertexStep) {
+                if (((EdgeVertexStep) step).getDirection().equals(Direction.BOTH))
+                    branchFactor = branchFactor * 2.0;
+            } else if (step instanceof HasContainerHolder) {
+                for (final HasContainer hasContainer : ((HasContainerHolder) step).getHasContainers()) {
+                    branchFactor = branchFactor * estimateSelectivity(graph, hasContainer, vertices);
+                }
+            } else if (step instanceof FilterStep) {
+                branchFactor = branchFactor * DEFAULT_SELECTIVITY;
+            }
+        }
+        return branchFactor;
+    }
+
+    private static double estimateSelectivity(final TinkerGraph graph, final HasContainer hasContainer, final double vertices) {
+        if (!Compare.eq.equals(hasContainer.predicate) || null == hasContainer.value)
+            return DEFAULT_SELECTIVITY;
+        final long count = hasContainer.key.equals(T.label.getAccessor()) ?
+                TinkerHelper.countVertices(graph, hasContainer.value.toString()) :
+                TinkerHelper.countVertexIndex(graph, hasContainer.key, hasContainer.value);
+        return -1 == count ? DEFAULT_SELECTIVITY : count / vertices;
+    }
+
+    public static TinkerGraphMatchStrategy instance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Set<Class<? extends TraversalStrategy>> applyPrior() {
+        return PRIORS;
+    }
+}
@@ -21,6 +21,10 @@ package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.opti
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
@@ -61,9 +65,33 @@ public class TinkerGraphStepStrategy extends AbstractTraversalStrategy {
                 }
                 currentStep = currentStep.getNextStep();
             }
+            // the range step remains to handle the low end of the range, but the scan can stop at the high end
+            if (currentStep instanceof RangeGlobalStep && -1 != ((RangeGlobalStep) currentStep).getHighRange())
+                tinkerGraphStep.setLimit(((RangeGlobalStep) currentStep).getHighRange());
+            tinkerGraphStep.setStreaming(isReadOnly(TraversalHelper.getRootTraversal(traversal)));
         }
     }
 
+    /**
+     * Determines if the traversal can not mutate the graph while it is iterated. That is, neither the traversal nor
+     * any of its children have {@link Mutating} steps or steps with user lambdas.
+     */
+    private static boolean isReadOnly(final Traversal.Admin<?, ?> traversal) {
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof Mutating || step instanceof LambdaHolder)
+                return false;
+            if (step instanceof TraversalParent) {
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                    if (!isReadOnly(child)) return false;
+                }
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                    if (!isReadOnly(child)) return false;
+                }
+            }
+        }
+        return true;
+    }
+
     public static TinkerGraphStepStrategy instance() {
         return INSTANCE;
     }
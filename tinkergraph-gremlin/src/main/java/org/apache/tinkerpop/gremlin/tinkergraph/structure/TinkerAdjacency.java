@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The edges of a {@link TinkerVertex} in a single direction when {@link TinkerGraph#CONFIG_COMPACT_ADJACENCY} is
+ * enabled. Rather than a {@code HashMap} holding a set per label, the labels and the edge arrays of the labels are
+ * held in parallel arrays, so a vertex costs three small arrays per direction plus a single array slot per edge.
+ * As a vertex is typically incident to a handful of labels, lookups scan the labels and because the labels are the
+ * canonical instances of the label dictionary of the graph, the scan mostly compares references. The per label
+ * {@link Set} of the {@link Map} interface is a view that is created on lookup.
+ * <p/>
+ * As every edge is only ever added once to its incident vertices, {@link #add(String, Edge)} does not check for
+ * duplicates, whereas adding through the per label {@link Set} does as the {@link Set} contract requires. Removal
+ * swaps the last edge of the label into the freed slot and a label is dropped along with its last edge. Iterators are
+ * over a snapshot of the edges of a label. Added edges are appended beyond the snapshot and a removal copies the edge
+ * array first if an iterator may still be reading it. As such, a vertex can be mutated while its edges are being
+ * lazily iterated without the cost of copying the edges for every iteration.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+final class TinkerAdjacency extends AbstractMap<String, Set<Edge>> {
+
+    private static final String[] EMPTY_LABELS = new String[0];
+    private static final Edge[] EMPTY_EDGES = new Edge[0];
+    private static final Edge[][] EMPTY_EDGE_ARRAYS = new Edge[0][];
+    private static final int[] EMPTY_SIZES = new int[0];
+
+    private String[] labels = EMPTY_LABELS;
+    private Edge[][] edges = EMPTY_EDGE_ARRAYS;
+    private int[] sizes = EMPTY_SIZES;
+    // bit i is set once an iterator may read the edges of label i, edges of labels beyond the 64th are always copied
+    private long shared = 0l;
+
+    public void add(final String label, final Edge edge) {
+        int index = this.indexOf(label);
+        if (-1 == index) {
+            index = this.labels.length;
+            this.labels = Arrays.copyOf(this.labels, index + 1);
+            this.edges = Arrays.copyOf(this.edges, index + 1);
+            this.sizes = Arrays.copyOf(this.sizes, index + 1);
+            this.labels[index] = label;
+            this.edges[index] = new Edge[1];
+        }
+        final int size = this.sizes[index];
+        if (size == this.edges[index].length)
+            this.edges[index] = Arrays.copyOf(this.edges[index], size + (size >> 1) + 1);
+        this.edges[index][size] = edge;
+        this.sizes[index] = size + 1;
+    }
+
+    public boolean remove(final String label, final Edge edge) {
+        final int index = this.indexOf(label);
+        if (-1 == index)
+            return false;
+        final int i = this.indexOf(index, edge);
+        if (-1 == i)
+            return false;
+        final int size = this.sizes[index];
+        if (1 == size)
+            this.removeLabel(index);
+        else {
+            if (this.isShared(index)) {
+                this.edges[index] = Arrays.copyOf(this.edges[index], this.edges[index].length);
+                this.setShared(index, false);
+            }
+            this.edges[index][i] = this.edges[index][size - 1];
+            this.edges[index][size - 1] = null;
+            this.sizes[index] = size - 1;
+        }
+        return true;
+    }
+
+    @Override
+    public Set<Edge> get(final Object label) {
+        final int index = this.indexOf(label);
+        return -1 == index ? null : new LabelEdges(this.labels[index]);
+    }
+
+    @Override
+    public boolean containsKey(final Object label) {
+        return -1 != this.indexOf(label);
+    }
+
+    @Override
+    public int size() {
+        return this.labels.length;
+    }
+
+    @Override
+    public Collection<Set<Edge>> values() {
+        final String[] labels = this.labels;
+        return new AbstractCollection<Set<Edge>>() {
+            @Override
+            public Iterator<Set<Edge>> iterator() {
+                return Arrays.stream(labels).<Set<Edge>>map(LabelEdges::new).iterator();
+            }
+
+            @Override
+            public int size() {
+                return labels.length;
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<String, Set<Edge>>> entrySet() {
+        final String[] labels = this.labels;
+        return new AbstractSet<Entry<String, Set<Edge>>>() {
+            @Override
+            public Iterator<Entry<String, Set<Edge>>> iterator() {
+                return Arrays.stream(labels).<Entry<String, Set<Edge>>>map(label -> new SimpleImmutableEntry<>(label, new LabelEdges(label))).iterator();
+            }
+
+            @Override
+            public int size() {
+                return labels.length;
+            }
+        };
+    }
+
+    private int indexOf(final Object label) {
+        for (int i = 0; i < this.labels.length; i++) {
+            if (this.labels[i] == label)
+                return i;
+        }
+        for (int i = 0; i < this.labels.length; i++) {
+            if (this.labels[i].equals(label))
+                return i;
+        }
+        return -1;
+    }
+
+    private int indexOf(final int index, final Object edge) {
+        final Edge[] labelEdges = this.edges[index];
+        for (int i = 0; i < this.sizes[index]; i++) {
+            if (labelEdges[i].equals(edge))
+                return i;
+        }
+        return -1;
+    }
+
+    private boolean isShared(final int index) {
+        return index >= Long.SIZE || 0l != (this.shared & (1l << index));
+    }
+
+    private void setShared(final int index, final boolean shared) {
+        if (index < Long.SIZE)
+            this.shared = shared ? this.shared | (1l << index) : this.shared & ~(1l << index);
+    }
+
+    private void removeLabel(final int index) {
+        final int last = this.labels.length - 1;
+        if (index != last) {
+            this.labels[index] = this.labels[last];
+            this.edges[index] = this.edges[last];
+            this.sizes[index] = this.sizes[last];
+            this.setShared(index, this.isShared(last));
+        }
+        this.setShared(last, false);
+        this.labels = Arrays.copyOf(this.labels, last);
+        this.edges = Arrays.copyOf(this.edges, last);
+        this.sizes = Arrays.copyOf(this.sizes, last);
+    }
+
+    private final class LabelEdges extends AbstractSet<Edge> {
+
+        private final String label;
+
+        private LabelEdges(final String label) {
+            this.label = label;
+        }
+
+        @Override
+        public boolean add(final Edge edge) {
+            if (this.contains(edge))
+                return false;
+            TinkerAdjacency.this.add(this.label, edge);
+            return true;
+        }
+
+        @Override
+        public boolean contains(final Object object) {
+            final int index = TinkerAdjacency.this.indexOf(this.label);
+            return -1 != index && -1 != TinkerAdjacency.this.indexOf(index, object);
+        }
+
+        @Override
+        public boolean remove(final Object object) {
+            return object instanceof Edge && TinkerAdjacency.this.remove(this.label, (Edge) object);
+        }
+
+        @Override
+        public int size() {
+            final int index = TinkerAdjacency.this.indexOf(this.label);
+            return -1 == index ? 0 : TinkerAdjacency.this.sizes[index];
+        }
+
+        @Override
+        public Iterator<Edge> iterator() {
+            final int index = TinkerAdjacency.this.indexOf(this.label);
+            if (-1 == index)
+                return new SnapshotIterator(this.label, EMPTY_EDGES, 0);
+            TinkerAdjacency.this.setShared(index, true);
+            return new SnapshotIterator(this.label, TinkerAdjacency.this.edges[index], TinkerAdjacency.this.sizes[index]);
+        }
+    }
+
+    private final class SnapshotIterator implements Iterator<Edge> {
+
+        private final String label;
+        private final Edge[] snapshot;
+        private final int snapshotSize;
+        private int index = 0;
+        private Edge last = null;
+
+        private SnapshotIterator(final String label, final Edge[] snapshot, final int snapshotSize) {
+            this.label = label;
+            this.snapshot = snapshot;
+            this.snapshotSize = snapshotSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index < this.snapshotSize;
+        }
+
+        @Override
+        public Edge next() {
+            if (this.index >= this.snapshotSize)
+                throw new NoSuchElementException();
+            return this.last = this.snapshot[this.index++];
+        }
+
+        @Override
+        public void remove() {
+            if (null == this.last)
+                throw new IllegalStateException();
+            TinkerAdjacency.this.remove(this.label, this.last);
+            this.last = null;
+        }
+    }
+}
@@ -29,12 +29,13 @@ import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -95,6 +96,7 @@ public class TinkerEdge extends TinkerElement implements Edge {
 
         TinkerHelper.removeElementIndex(this);
         ((TinkerGraph) this.graph()).edges.remove(this.id());
+        TinkerHelper.removeLabelledElement(((TinkerGraph) this.graph()).edgeLabels, this);
         this.properties = null;
         this.removed = true;
     }
@@ -138,7 +140,22 @@ public class TinkerEdge extends TinkerElement implements Edge {
         if (propertyKeys.length == 1) {
             final Property<V> property = this.properties.get(propertyKeys[0]);
             return null == property ? Collections.emptyIterator() : IteratorUtils.of(property);
-        } else
-            return (Iterator) this.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).map(entry -> entry.getValue()).collect(Collectors.toList()).iterator();
+        } else {
+            final List<Property<V>> list = new ArrayList<>();
+            for (final Map.Entry<String, Property> entry : this.properties.entrySet()) {
+                if (ElementHelper.keyExists(entry.getKey(), propertyKeys))
+                    list.add(entry.getValue());
+            }
+            return list.iterator();
+        }
+    }
+
+    @Override
+    public <V> Iterator<V> values(final String... propertyKeys) {
+        if (propertyKeys.length == 1 && null != this.properties) {
+            final Property<V> property = this.properties.get(propertyKeys[0]);
+            return null == property ? Collections.emptyIterator() : IteratorUtils.of(property.value());
+        }
+        return Edge.super.values(propertyKeys);
     }
 }
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+
+/**
+ * A {@code HashSet} of the edges of a single label incident to a {@link TinkerVertex}, which is the default adjacency
+ * of a {@link TinkerGraph}. Like {@link TinkerAdjacency}, iterators are over a snapshot of the set: the iterators that
+ * are reading the backing set are counted and while any of them is not yet exhausted, the next mutation copies the
+ * backing set first. As such, a vertex can be mutated while its edges are being lazily iterated without the cost of
+ * copying the edges for every iteration or of a concurrent set. An iterator that is abandoned before it is exhausted
+ * is never released, which merely costs one copy on the next mutation.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+final class TinkerEdgeHashSet extends AbstractSet<Edge> {
+
+    private HashSet<Edge> edges = new HashSet<>();
+    // the number of iterators over the backing set that are not yet exhausted
+    private int readers = 0;
+
+    @Override
+    public boolean add(final Edge edge) {
+        return this.unshare().add(edge);
+    }
+
+    @Override
+    public boolean remove(final Object object) {
+        return this.edges.contains(object) && this.unshare().remove(object);
+    }
+
+    @Override
+    public boolean contains(final Object object) {
+        return this.edges.contains(object);
+    }
+
+    @Override
+    public int size() {
+        return this.edges.size();
+    }
+
+    @Override
+    public void clear() {
+        this.edges = new HashSet<>();
+        this.readers = 0;
+    }
+
+    @Override
+    public Iterator<Edge> iterator() {
+        final HashSet<Edge> snapshot = this.edges;
+        final Iterator<Edge> iterator = snapshot.iterator();
+        this.readers++;
+        return new Iterator<Edge>() {
+            private Edge last = null;
+            private boolean released = false;
+
+            @Override
+            public boolean hasNext() {
+                if (iterator.hasNext())
+                    return true;
+                if (!this.released) {
+                    this.released = true;
+                    // once the backing set was copied, the readers count the iterators of the copy
+                    if (snapshot == TinkerEdgeHashSet.this.edges)
+                        TinkerEdgeHashSet.this.readers--;
+                }
+                return false;
+            }
+
+            @Override
+            public Edge next() {
+                return this.last = iterator.next();
+            }
+
+            @Override
+            public void remove() {
+                if (null == this.last)
+                    throw new IllegalStateException();
+                TinkerEdgeHashSet.this.remove(this.last);
+                this.last = null;
+            }
+        };
+    }
+
+    private HashSet<Edge> unshare() {
+        if (this.readers > 0) {
+            this.edges = new HashSet<>(this.edges);
+            this.readers = 0;
+        }
+        return this.edges;
+    }
+}
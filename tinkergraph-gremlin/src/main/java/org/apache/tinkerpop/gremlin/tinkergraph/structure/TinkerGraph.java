@@ -28,21 +28,37 @@ import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoReader;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphView;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphMatchStrategy;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphStepStrategy;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
@@ -65,7 +81,7 @@ import java.util.stream.Stream;
 public class TinkerGraph implements Graph {
 
     static {
-        TraversalStrategies.GlobalCache.registerStrategies(TinkerGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(TinkerGraphStepStrategy.instance()));
+        TraversalStrategies.GlobalCache.registerStrategies(TinkerGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(TinkerGraphStepStrategy.instance(), TinkerGraphMatchStrategy.instance()));
     }
 
     private static final Configuration EMPTY_CONFIGURATION = new BaseConfiguration() {{
@@ -75,21 +91,38 @@ public class TinkerGraph implements Graph {
     public static final String CONFIG_VERTEX_ID = "gremlin.tinkergraph.vertexIdManager";
     public static final String CONFIG_EDGE_ID = "gremlin.tinkergraph.edgeIdManager";
     public static final String CONFIG_VERTEX_PROPERTY_ID = "gremlin.tinkergraph.vertexPropertyIdManager";
+    public static final String CONFIG_COMPACT_ADJACENCY = "gremlin.tinkergraph.compactAdjacency";
+    public static final String CONFIG_GRAPH_LOCATION = "gremlin.tinkergraph.graphLocation";
+    public static final String CONFIG_PARALLELISM = "gremlin.tinkergraph.parallelism";
+
+    private static final String METADATA_EXTENSION = ".metadata";
+    private static final String TEMP_EXTENSION = ".tmp";
+    private static final String VARIABLES = "variables";
+    private static final String LABEL_INDEX = "labelIndex";
+    private static final String INDICES = "indices";
+    private static final String COMPOSITE_INDICES = "compositeIndices";
 
     protected AtomicLong currentId = new AtomicLong(-1l);
     protected Map<Object, Vertex> vertices = new ConcurrentHashMap<>();
     protected Map<Object, Edge> edges = new ConcurrentHashMap<>();
+    protected Map<String, Set<Vertex>> vertexLabels = null;
+    protected Map<String, Set<Edge>> edgeLabels = null;
+    protected Map<String, String> edgeLabelDictionary = new ConcurrentHashMap<>();
 
     protected TinkerGraphVariables variables = null;
     protected TinkerGraphView graphView = null;
     protected TinkerIndex<TinkerVertex> vertexIndex = null;
     protected TinkerIndex<TinkerEdge> edgeIndex = null;
+    protected ForkJoinPool parallelPool = null;
 
     private final static TinkerGraph EMPTY_GRAPH = new TinkerGraph(EMPTY_CONFIGURATION);
 
     protected final IdManager<?> vertexIdManager;
     protected final IdManager<?> edgeIdManager;
     protected final IdManager<?> vertexPropertyIdManager;
+    protected final boolean compactAdjacency;
+    protected final String graphLocation;
+    protected final int parallelism;
 
     private final Configuration configuration;
 
@@ -101,6 +134,11 @@ public class TinkerGraph implements Graph {
         vertexIdManager = selectIdManager(configuration, CONFIG_VERTEX_ID, Vertex.class);
         edgeIdManager = selectIdManager(configuration, CONFIG_EDGE_ID, Edge.class);
         vertexPropertyIdManager = selectIdManager(configuration, CONFIG_VERTEX_PROPERTY_ID, VertexProperty.class);
+        compactAdjacency = configuration.getBoolean(CONFIG_COMPACT_ADJACENCY, false);
+        graphLocation = configuration.getString(CONFIG_GRAPH_LOCATION, null);
+        parallelism = configuration.getInt(CONFIG_PARALLELISM, Runtime.getRuntime().availableProcessors());
+        if (null != graphLocation && new File(graphLocation).exists())
+            loadGraph();
     }
 
     public static TinkerGraph empty() {
@@ -153,6 +191,7 @@ public class TinkerGraph implements Graph {
 
         final Vertex vertex = new TinkerVertex(idValue, label, this);
         this.vertices.put(vertex.id(), vertex);
+        TinkerHelper.addLabelledElement(this.vertexLabels, vertex);
 
         ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
         return vertex;
@@ -185,15 +224,31 @@ public class TinkerGraph implements Graph {
     public void clear() {
         this.vertices.clear();
         this.edges.clear();
+        if (null != this.vertexLabels) this.vertexLabels.clear();
+        if (null != this.edgeLabels) this.edgeLabels.clear();
+        this.edgeLabelDictionary.clear();
         this.variables = null;
         this.currentId.set(-1l);
         this.vertexIndex = null;
         this.edgeIndex = null;
     }
 
+    /**
+     * Closes the graph and, if {@link #CONFIG_GRAPH_LOCATION} is configured, writes the graph to that location with
+     * Gryo, along with its index definitions and variables, to be loaded the next time the graph is opened. The workers of the pool used by
+     * {@code TinkerGraphParallelStrategy} are shutdown.
+     */
     @Override
-    public void close() {
+    public void close() throws IOException {
         this.graphView = null;
+        synchronized (this) {
+            if (null != this.parallelPool) {
+                this.parallelPool.shutdown();
+                this.parallelPool = null;
+            }
+        }
+        if (null != this.graphLocation)
+            saveGraph();
     }
 
     @Override
@@ -350,12 +405,29 @@ public class TinkerGraph implements Graph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        this.createIndex(key, elementClass, IndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified {@link IndexType} for said element class ({@link Vertex} or {@link Edge})
+     * and said property key. A {@link IndexType#HASH} index answers equality and {@code within} lookups, while a
+     * {@link IndexType#ORDERED} index additionally answers {@code gt}, {@code gte}, {@code lt}, {@code lte} and
+     * thus, {@code between} lookups. If the key is already indexed, this method does nothing.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
+        if (null == indexType)
+            throw Graph.Exceptions.argumentCanNotBeNull("indexType");
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, indexType);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -378,6 +450,99 @@ public class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Create an index of the labels of said element class ({@link Vertex} or {@link Edge}) so that {@code hasLabel()}
+     * lookups hit the elements of the labels directly rather than scanning all the elements. The index costs a set
+     * entry per element and is thus only worth it when lookups select a small fraction of the elements by label.
+     * When the index is created, all existing elements are indexed. If the labels are already indexed, this method
+     * does nothing.
+     *
+     * @param elementClass the element class to index the labels of
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createLabelIndex(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexLabels) this.vertexLabels = TinkerHelper.indexLabels(this.vertices.values());
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeLabels) this.edgeLabels = TinkerHelper.indexLabels(this.edges.values());
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the label index for the specified element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class of the label index to drop
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropLabelIndex(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            this.vertexLabels = null;
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            this.edgeLabels = null;
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Return whether the labels of said element class ({@link Vertex} or {@link Edge}) are indexed.
+     *
+     * @param elementClass the element class to check the label index of
+     * @param <E>          The type of the element class
+     * @return {@code true} if the labels are indexed
+     */
+    public <E extends Element> boolean isLabelIndexed(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null != this.vertexLabels;
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null != this.edgeLabels;
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over the ordered list of
+     * property keys. The label of the element can be part of the index by way of {@code T.label.getAccessor()}.
+     * A composite index answers lookups in which every one of its keys is bound by an equality {@code has()} and
+     * hits the elements having all the values directly rather than scanning the elements having any one of them.
+     * If the keys are already indexed, this method does nothing.
+     *
+     * @param keys         the property keys to index together (at least two)
+     * @param elementClass the element class to index
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final List<String> keys, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+            this.vertexIndex.createCompositeIndex(keys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+            this.edgeIndex.createCompositeIndex(keys);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}) and keys.
+     *
+     * @param keys         the property keys of the composite index
+     * @param elementClass the element class of the index to drop
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final List<String> keys, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexIndex) this.vertexIndex.dropCompositeIndex(keys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeIndex) this.edgeIndex.dropCompositeIndex(keys);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
     /**
      * Return all the keys currently being index for said element class  ({@link Vertex} or {@link Edge}).
      *
@@ -395,6 +560,116 @@ public class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Return the key lists of the composite indices of said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class to get the composite indices for
+     * @param <E>          The type of the element class
+     * @return the set of key lists currently being indexed together
+     */
+    public <E extends Element> Set<List<String>> getCompositeIndexedKeys(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptySet() : this.vertexIndex.getCompositeIndexedKeys();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptySet() : this.edgeIndex.getCompositeIndexedKeys();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * The types of indices that can be created by way of {@link #createIndex(String, Class, IndexType)}.
+     */
+    public enum IndexType {
+        /**
+         * A hash-based index that supports lookups by value equality.
+         */
+        HASH,
+
+        /**
+         * A sorted index that supports lookups by value equality as well as by value range.
+         */
+        ORDERED
+    }
+
+    /**
+     * The graph is read with Gryo after the index definitions and variables are restored, so that the indices are
+     * filled as the elements are added rather than by a scan.
+     */
+    @SuppressWarnings("unchecked")
+    private void loadGraph() {
+        final File metadataFile = new File(this.graphLocation + METADATA_EXTENSION);
+        try {
+            if (metadataFile.exists()) {
+                final Map<String, Object> metadata;
+                try (final InputStream inputStream = new FileInputStream(metadataFile)) {
+                    metadata = GryoReader.build().create().readObject(inputStream, HashMap.class);
+                }
+                this.loadIndices((Map<String, Object>) metadata.get(Vertex.class.getSimpleName()), Vertex.class);
+                this.loadIndices((Map<String, Object>) metadata.get(Edge.class.getSimpleName()), Edge.class);
+                ((Map<String, Object>) metadata.get(VARIABLES)).forEach(this.variables()::set);
+            }
+            try (final InputStream inputStream = new FileInputStream(this.graphLocation)) {
+                GryoReader.build().create().readGraph(inputStream, this);
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException(String.format("Could not load graph at %s", this.graphLocation), e);
+        }
+    }
+
+    /**
+     * The graph is written with Gryo and its index definitions and variables are written next to it. Both are written
+     * to temporary files that then replace the previous ones.
+     */
+    private void saveGraph() throws IOException {
+        final File file = new File(this.graphLocation);
+        final File parent = file.getAbsoluteFile().getParentFile();
+        if (null != parent && !parent.exists() && !parent.mkdirs())
+            throw new IOException(String.format("Could not create the directory of %s", this.graphLocation));
+
+        final Map<String, Object> metadata = new HashMap<>();
+        metadata.put(Vertex.class.getSimpleName(), saveIndices(this.vertexIndex, null != this.vertexLabels));
+        metadata.put(Edge.class.getSimpleName(), saveIndices(this.edgeIndex, null != this.edgeLabels));
+        final Map<String, Object> variables = new HashMap<>();
+        if (null != this.variables)
+            this.variables.asMap().forEach(variables::put);
+        metadata.put(VARIABLES, variables);
+
+        final File metadataFile = new File(this.graphLocation + METADATA_EXTENSION);
+        final File tempFile = new File(this.graphLocation + TEMP_EXTENSION);
+        final File tempMetadataFile = new File(this.graphLocation + METADATA_EXTENSION + TEMP_EXTENSION);
+        try (final OutputStream outputStream = new FileOutputStream(tempMetadataFile)) {
+            GryoWriter.build().create().writeObject(outputStream, metadata);
+        }
+        try (final OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+            GryoWriter.build().create().writeGraph(outputStream, this);
+        }
+        Files.move(tempMetadataFile.toPath(), metadataFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Map<String, Object> saveIndices(final TinkerIndex<?> index, final boolean labelIndexed) {
+        final Map<String, String> indexTypes = new HashMap<>();
+        final List<List<String>> compositeKeys = new ArrayList<>();
+        if (null != index) {
+            index.getIndexedKeys().forEach(key -> indexTypes.put(key, index.getIndexType(key).name()));
+            index.getCompositeIndexedKeys().forEach(keys -> compositeKeys.add(new ArrayList<>(keys)));
+        }
+        final Map<String, Object> indices = new HashMap<>();
+        indices.put(LABEL_INDEX, labelIndexed);
+        indices.put(INDICES, indexTypes);
+        indices.put(COMPOSITE_INDICES, compositeKeys);
+        return indices;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends Element> void loadIndices(final Map<String, Object> indices, final Class<E> elementClass) {
+        if ((Boolean) indices.get(LABEL_INDEX))
+            this.createLabelIndex(elementClass);
+        ((Map<String, String>) indices.get(INDICES)).forEach((key, indexType) -> this.createIndex(key, elementClass, IndexType.valueOf(indexType)));
+        ((List<List<String>>) indices.get(COMPOSITE_INDICES)).forEach(keys -> this.createCompositeIndex(keys, elementClass));
+    }
+
     /**
      * Construct an {@link TinkerGraph.IdManager} from the TinkerGraph {@code Configuration}.
      */
@@ -19,24 +19,32 @@
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Compare;
+import org.apache.tinkerpop.gremlin.structure.Contains;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphView;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerVertexOrdinals;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -60,33 +68,153 @@ public final class TinkerHelper {
             idValue = graph.edgeIdManager.getNextId(graph);
         }
 
-        edge = new TinkerEdge(idValue, outVertex, label, inVertex);
+        // with compact adjacency all edges and adjacencies share the instance of the label in the label dictionary
+        final String edgeLabel = graph.compactAdjacency ? TinkerHelper.canonicalLabel(graph, label) : label;
+        edge = new TinkerEdge(idValue, outVertex, edgeLabel, inVertex);
         ElementHelper.attachProperties(edge, keyValues);
         graph.edges.put(edge.id(), edge);
-        TinkerHelper.addOutEdge(outVertex, label, edge);
-        TinkerHelper.addInEdge(inVertex, label, edge);
+        TinkerHelper.addLabelledElement(graph.edgeLabels, edge);
+        TinkerHelper.addOutEdge(outVertex, edgeLabel, edge);
+        TinkerHelper.addInEdge(inVertex, edgeLabel, edge);
         return edge;
 
     }
 
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
-        Set<Edge> edges = vertex.outEdges.get(label);
-        if (null == edges) {
-            edges = new HashSet<>();
-            vertex.outEdges.put(label, edges);
-        }
-        edges.add(edge);
+        if (null == vertex.outEdges) vertex.outEdges = createAdjacency(vertex);
+        TinkerHelper.addAdjacentEdge(vertex.outEdges, label, edge);
     }
 
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
-        Set<Edge> edges = vertex.inEdges.get(label);
-        if (null == edges) {
-            edges = new HashSet<>();
-            vertex.inEdges.put(label, edges);
+        if (null == vertex.inEdges) vertex.inEdges = createAdjacency(vertex);
+        TinkerHelper.addAdjacentEdge(vertex.inEdges, label, edge);
+    }
+
+    private static Map<String, Set<Edge>> createAdjacency(final TinkerVertex vertex) {
+        return ((TinkerGraph) vertex.graph()).compactAdjacency ? new TinkerAdjacency() : new HashMap<>();
+    }
+
+    private static void addAdjacentEdge(final Map<String, Set<Edge>> adjacency, final String label, final Edge edge) {
+        if (adjacency instanceof TinkerAdjacency)
+            ((TinkerAdjacency) adjacency).add(label, edge);
+        else {
+            Set<Edge> edges = adjacency.get(label);
+            if (null == edges) {
+                edges = new TinkerEdgeHashSet();
+                adjacency.put(label, edges);
+            }
+            edges.add(edge);
+        }
+    }
+
+    private static String canonicalLabel(final TinkerGraph graph, final String label) {
+        final String canonical = graph.edgeLabelDictionary.get(label);
+        if (null != canonical)
+            return canonical;
+        final String previous = graph.edgeLabelDictionary.putIfAbsent(label, label);
+        return null == previous ? label : previous;
+    }
+
+    protected static <E extends Element> void addLabelledElement(final Map<String, Set<E>> labels, final E element) {
+        if (null == labels)
+            return;
+        labels.compute(element.label(), (label, elements) -> {
+            if (null == elements) elements = ConcurrentHashMap.newKeySet();
+            elements.add(element);
+            return elements;
+        });
+    }
+
+    protected static <E extends Element> void removeLabelledElement(final Map<String, Set<E>> labels, final E element) {
+        if (null == labels)
+            return;
+        labels.computeIfPresent(element.label(), (label, elements) -> {
+            elements.remove(element);
+            return elements.isEmpty() ? null : elements;
+        });
+    }
+
+    protected static <E extends Element> Map<String, Set<E>> indexLabels(final Collection<E> elements) {
+        final Map<String, Set<E>> labels = new ConcurrentHashMap<>();
+        for (final E element : elements) {
+            TinkerHelper.addLabelledElement(labels, element);
         }
-        edges.add(edge);
+        return labels;
+    }
+
+    /**
+     * Lazily get the vertices with the labels of a {@link T#label} equality or {@link Contains#within} container.
+     *
+     * @return the vertices of the labels or {@code null} if the labels are not indexed or no container is on the label
+     */
+    public static Iterator<TinkerVertex> queryVertexLabels(final TinkerGraph graph, final List<HasContainer> hasContainers) {
+        return (Iterator) queryLabels(graph.vertexLabels, hasContainers);
+    }
+
+    /**
+     * Lazily get the edges with the labels of a {@link T#label} equality or {@link Contains#within} container.
+     *
+     * @return the edges of the labels or {@code null} if the labels are not indexed or no container is on the label
+     */
+    public static Iterator<TinkerEdge> queryEdgeLabels(final TinkerGraph graph, final List<HasContainer> hasContainers) {
+        return (Iterator) queryLabels(graph.edgeLabels, hasContainers);
+    }
+
+    private static <E extends Element> Iterator<E> queryLabels(final Map<String, Set<E>> labels, final List<HasContainer> hasContainers) {
+        if (null == labels)
+            return null;
+        for (final HasContainer hasContainer : hasContainers) {
+            if (!hasContainer.key.equals(T.label.getAccessor()) || null == hasContainer.value)
+                continue;
+            if (hasContainer.predicate.equals(Compare.eq)) {
+                final Set<E> elements = labels.get(hasContainer.value);
+                return null == elements ? Collections.emptyIterator() : elements.iterator();
+            } else if (hasContainer.predicate.equals(Contains.within) && hasContainer.value instanceof Collection) {
+                final List<Set<E>> sets = new ArrayList<>();
+                for (final Object label : new LinkedHashSet<>((Collection<?>) hasContainer.value)) {
+                    final Set<E> elements = labels.get(label);
+                    if (null != elements) sets.add(elements);
+                }
+                return IteratorUtils.flatMap(sets.iterator(), Set::iterator);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Counts the vertices of the label or all the vertices if the label is {@code null}.
+     *
+     * @return the count or {@code -1} if the vertex labels are not indexed
+     */
+    public static long countVertices(final TinkerGraph graph, final String label) {
+        return countLabelled(graph.vertices, graph.vertexLabels, label);
+    }
+
+    /**
+     * Counts the edges of the label or all the edges if the label is {@code null}.
+     *
+     * @return the count or {@code -1} if the edge labels are not indexed
+     */
+    public static long countEdges(final TinkerGraph graph, final String label) {
+        return countLabelled(graph.edges, graph.edgeLabels, label);
+    }
+
+    private static <E extends Element> long countLabelled(final Map<Object, E> elements, final Map<String, Set<E>> labels, final String label) {
+        if (null == label)
+            return elements.size();
+        if (null == labels)
+            return -1;
+        final Set<E> labelled = labels.get(label);
+        return null == labelled ? 0 : labelled.size();
+    }
+
+    /**
+     * Counts the vertices with the property value.
+     *
+     * @return the number of vertices or {@code -1} if the key is not indexed
+     */
+    public static long countVertexIndex(final TinkerGraph graph, final String key, final Object value) {
+        return null == graph.vertexIndex || !graph.vertexIndex.getIndexedKeys().contains(key) ? -1 : graph.vertexIndex.count(key, value);
     }
 
     public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key, final Object value) {
@@ -97,16 +225,51 @@ public final class TinkerHelper {
         return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
     }
 
+    /**
+     * Lazily get the candidate vertices for the {@link HasContainer} list from the most selective vertex index.
+     *
+     * @return the candidate vertices or {@code null} if the vertex index can not answer any of the containers
+     */
+    public static Iterator<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final List<HasContainer> hasContainers) {
+        return null == graph.vertexIndex ? null : graph.vertexIndex.get(hasContainers);
+    }
+
+    /**
+     * Lazily get the candidate edges for the {@link HasContainer} list from the most selective edge index.
+     *
+     * @return the candidate edges or {@code null} if the edge index can not answer any of the containers
+     */
+    public static Iterator<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final List<HasContainer> hasContainers) {
+        return null == graph.edgeIndex ? null : graph.edgeIndex.get(hasContainers);
+    }
+
     public static boolean inComputerMode(final TinkerGraph graph) {
         return null != graph.graphView;
     }
 
-    public static TinkerGraphView createGraphView(final TinkerGraph graph, final GraphComputer.Isolation isolation, final Set<String> computeKeys) {
-        return graph.graphView = new TinkerGraphView(isolation, computeKeys);
+    /**
+     * Get the pool that {@code TinkerGraphParallelStrategy} processes partitions of the graph on. The pool is owned
+     * by the graph, created on first use with {@link TinkerGraph#CONFIG_PARALLELISM} workers and shutdown when the
+     * graph is closed.
+     */
+    public static ForkJoinPool getParallelPool(final TinkerGraph graph) {
+        synchronized (graph) {
+            if (null == graph.parallelPool)
+                graph.parallelPool = new ForkJoinPool(graph.parallelism);
+            return graph.parallelPool;
+        }
+    }
+
+    public static TinkerGraphView createGraphView(final TinkerGraph graph, final GraphComputer.Isolation isolation, final Set<String> computeKeys, final TinkerVertexOrdinals ordinals) {
+        return graph.graphView = new TinkerGraphView(isolation, computeKeys, ordinals);
     }
 
-    public static Map<String, List<VertexProperty>> getProperties(final TinkerVertex vertex) {
-        return null == vertex.properties ? Collections.emptyMap() : vertex.properties;
+    public static List<VertexProperty> getProperties(final TinkerVertex vertex, final String key) {
+        return vertex.getProperties(key);
+    }
+
+    public static void getProperties(final TinkerVertex vertex, final List<VertexProperty> properties) {
+        vertex.getProperties(properties);
     }
 
     public static void autoUpdateIndex(final TinkerEdge edge, final String key, final Object newValue, final Object oldValue) {
@@ -136,62 +299,67 @@ public final class TinkerHelper {
     public static void removeIndex(final TinkerVertex vertex, final String key, final Object value) {
         final TinkerGraph graph = (TinkerGraph) vertex.graph();
         if (graph.vertexIndex != null)
-            graph.vertexIndex.remove(key, value, vertex);
+            graph.vertexIndex.autoRemove(key, value, vertex);
     }
 
     public static void removeIndex(final TinkerEdge edge, final String key, final Object value) {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
-            graph.edgeIndex.remove(key, value, edge);
+            graph.edgeIndex.autoRemove(key, value, edge);
     }
 
+    /**
+     * Get the edges incident to the vertex. The edges are lazily iterated over the adjacency sets of the vertex
+     * with only the (few) sets of the matching labels being gathered up front. Adjacency sets never fail on
+     * concurrent modification as both {@link TinkerEdgeHashSet} and {@link TinkerAdjacency} iterate a snapshot.
+     */
     public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
-        final List<Edge> edges = new ArrayList<>();
-        if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
-            if (vertex.outEdges != null) {
-                if (edgeLabels.length == 0)
-                    vertex.outEdges.values().forEach(edges::addAll);
-                else if (edgeLabels.length == 1)
-                    edges.addAll(vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()));
-                else
-                    Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).forEach(edges::addAll);
-            }
-        }
-        if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
-            if (vertex.inEdges != null) {
-                if (edgeLabels.length == 0)
-                    vertex.inEdges.values().forEach(edges::addAll);
-                else if (edgeLabels.length == 1)
-                    edges.addAll(vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()));
-                else
-                    Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).forEach(edges::addAll);
-            }
-        }
-        return (Iterator) edges.iterator();
+        final List<Set<Edge>> edgeSets = new ArrayList<>();
+        if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH))
+            TinkerHelper.addEdgeSets(vertex.outEdges, edgeLabels, edgeSets);
+        if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH))
+            TinkerHelper.addEdgeSets(vertex.inEdges, edgeLabels, edgeSets);
+        return (Iterator) TinkerHelper.edgeIterator(edgeSets);
     }
 
+    /**
+     * Get the vertices adjacent to the vertex. Like {@link #getEdges}, the adjacent vertices are lazily iterated.
+     */
     public static Iterator<TinkerVertex> getVertices(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
-        final List<Vertex> vertices = new ArrayList<>();
-        if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
-            if (vertex.outEdges != null) {
-                if (edgeLabels.length == 0)
-                    vertex.outEdges.values().forEach(set -> set.forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex)));
-                else if (edgeLabels.length == 1)
-                    vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
-                else
-                    Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
-            }
-        }
-        if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
-            if (vertex.inEdges != null) {
-                if (edgeLabels.length == 0)
-                    vertex.inEdges.values().forEach(set -> set.forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex)));
-                else if (edgeLabels.length == 1)
-                    vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
-                else
-                    Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
+        final List<Set<Edge>> outEdgeSets = new ArrayList<>();
+        final List<Set<Edge>> inEdgeSets = new ArrayList<>();
+        if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH))
+            TinkerHelper.addEdgeSets(vertex.outEdges, edgeLabels, outEdgeSets);
+        if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH))
+            TinkerHelper.addEdgeSets(vertex.inEdges, edgeLabels, inEdgeSets);
+
+        final Iterator<TinkerVertex> outVertices = IteratorUtils.map(TinkerHelper.edgeIterator(outEdgeSets), edge -> (TinkerVertex) ((TinkerEdge) edge).inVertex);
+        if (inEdgeSets.isEmpty())
+            return outVertices;
+        final Iterator<TinkerVertex> inVertices = IteratorUtils.map(TinkerHelper.edgeIterator(inEdgeSets), edge -> (TinkerVertex) ((TinkerEdge) edge).outVertex);
+        return outEdgeSets.isEmpty() ? inVertices : IteratorUtils.concat(outVertices, inVertices);
+    }
+
+    private static void addEdgeSets(final Map<String, Set<Edge>> edges, final String[] edgeLabels, final List<Set<Edge>> edgeSets) {
+        if (null == edges)
+            return;
+        if (edgeLabels.length == 0)
+            edgeSets.addAll(edges.values());
+        else {
+            for (final String edgeLabel : edgeLabels) {
+                final Set<Edge> edgeSet = edges.get(edgeLabel);
+                if (null != edgeSet)
+                    edgeSets.add(edgeSet);
             }
         }
-        return (Iterator) vertices.iterator();
+    }
+
+    private static Iterator<Edge> edgeIterator(final List<Set<Edge>> edgeSets) {
+        if (edgeSets.isEmpty())
+            return Collections.emptyIterator();
+        else if (edgeSets.size() == 1)
+            return edgeSets.get(0).iterator();
+        else
+            return IteratorUtils.flatMap(edgeSets.iterator(), Set::iterator);
     }
 }
@@ -18,47 +18,96 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Compare;
+import org.apache.tinkerpop.gremlin.structure.Contains;
+import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.apache.tinkerpop.gremlin.structure.T.label;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 class TinkerIndex<T extends Element> {
 
+    private static final int STRIPES = 64;
+
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
     protected final Class<T> indexClass;
-    private final Set<String> indexedKeys = new HashSet<>();
+    private final Set<String> indexedKeys = ConcurrentHashMap.newKeySet();
+    private final Map<List<String>, Map<Object, Set<T>>> compositeIndex = new ConcurrentHashMap<>();
     private final TinkerGraph graph;
+    private final Object[] stripes = new Object[STRIPES];
+
+    /**
+     * Orders index values such that all {@link Number} values come first (compared by their double value so that
+     * mixed number types line up as they do in {@link Compare}) followed by all other values grouped by class.
+     * Values that compare as equal share a bucket which is fine as index results are always re-tested.
+     */
+    protected static final Comparator<Object> VALUE_COMPARATOR = (a, b) -> {
+        if (a instanceof Number && b instanceof Number) {
+            final double x = ((Number) a).doubleValue();
+            final double y = ((Number) b).doubleValue();
+            return x == y ? 0 : Double.compare(x, y);
+        } else if (a instanceof Number)
+            return -1;
+        else if (b instanceof Number)
+            return 1;
+        final int classCompare = a.getClass().getName().compareTo(b.getClass().getName());
+        if (0 != classCompare)
+            return classCompare;
+        return a instanceof Comparable ?
+                ((Comparable) a).compareTo(b) :
+                Integer.compare(a.hashCode(), b.hashCode());
+    };
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
         this.graph = graph;
         this.indexClass = indexClass;
+        for (int i = 0; i < STRIPES; i++) {
+            this.stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Buckets are created and dropped under the lock of the stripe of their value so that an element added to a
+     * bucket is never lost to the bucket being concurrently dropped as empty. Reads do not lock. Values that share a
+     * bucket of an {@link TinkerGraph.IndexType#ORDERED} index must share a stripe, hence numbers are striped by
+     * their double value.
+     */
+    private Object stripe(final Object value) {
+        final int hash = value instanceof Number ? Double.hashCode(((Number) value).doubleValue()) : value.hashCode();
+        return this.stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
     }
 
     protected void put(final String key, final Object value, final T element) {
-        Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (keyMap == null) {
-            keyMap = new ConcurrentHashMap<>();
-            this.index.put(key, keyMap);
-        }
-        Set<T> objects = keyMap.get(value);
-        if (null == objects) {
-            objects = new HashSet<>();
-            keyMap.put(value, objects);
-        }
-        objects.add(element);
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        if (null != keyMap)
+            this.put(keyMap, value, element);
+    }
 
+    private void put(final Map<Object, Set<T>> keyMap, final Object value, final T element) {
+        synchronized (this.stripe(value)) {
+            keyMap.computeIfAbsent(value, v -> ConcurrentHashMap.newKeySet()).add(element);
+        }
     }
 
     public List<T> get(final String key, final Object value) {
@@ -74,6 +123,170 @@ class TinkerIndex<T extends Element> {
         }
     }
 
+    /**
+     * Lazily get the elements that may satisfy the provided {@link HasContainer} list by way of the most selective
+     * indexed key. Equality and {@link Contains#within} containers can be answered by any index type, while
+     * {@link Compare#gt}, {@link Compare#gte}, {@link Compare#lt} and {@link Compare#lte} containers require an
+     * {@link TinkerGraph.IndexType#ORDERED} index. A composite index is considered if all of its keys are bound by
+     * equality containers. The returned elements are candidates only and must still be tested against the containers.
+     *
+     * @return the candidate elements or {@code null} if no container can be answered by the index
+     */
+    public Iterator<T> get(final List<HasContainer> hasContainers) {
+        Collection<Set<T>> best = null;
+        String bestKey = null;
+        long bestCount = Long.MAX_VALUE;
+        for (final String key : this.indexedKeys) {
+            final Map<Object, Set<T>> keyMap = this.index.get(key);
+            if (null == keyMap) continue;
+            final Collection<Set<T>> buckets = this.buckets(keyMap, key, hasContainers, bestCount);
+            if (null != buckets) {
+                best = buckets;
+                bestKey = key;
+                bestCount = 0;
+                for (final Set<T> bucket : buckets) {
+                    bestCount += bucket.size();
+                }
+            }
+        }
+        for (final Map.Entry<List<String>, Map<Object, Set<T>>> entry : this.compositeIndex.entrySet()) {
+            final List<Object> values = equalityValues(entry.getKey(), hasContainers);
+            if (null == values) continue;
+            final Set<T> set = entry.getValue().get(values);
+            final long count = null == set ? 0 : set.size();
+            if (count < bestCount) {
+                best = null == set ? Collections.emptyList() : Collections.singletonList(set);
+                bestKey = null;
+                bestCount = count;
+            }
+        }
+        if (null == best)
+            return null;
+        else if (best.isEmpty())
+            return Collections.emptyIterator();
+        else if (best.size() == 1)
+            return best.iterator().next().iterator();
+        else {
+            // a multi-property vertex sits in the bucket of each of its values, so an element is only emitted from
+            // the first of the buckets that its current values map to
+            final Map<Object, Set<T>> keyMap = this.index.get(bestKey);
+            final String key = bestKey;
+            final Map<Set<T>, Integer> positions = new IdentityHashMap<>();
+            for (final Set<T> bucket : best) {
+                positions.putIfAbsent(bucket, positions.size());
+            }
+            final int[] position = {-1};
+            return IteratorUtils.flatMap(best.iterator(), bucket -> {
+                final int current = ++position[0];
+                return IteratorUtils.filter(bucket.iterator(), element -> current == firstPosition(keyMap, key, element, positions));
+            });
+        }
+    }
+
+    /**
+     * Get the position of the first of the buckets that the current values of the element for the key map to.
+     *
+     * @return the position or {@code -1} if none of the values of the element map to the buckets
+     */
+    private static <T extends Element> int firstPosition(final Map<Object, Set<T>> keyMap, final String key, final T element, final Map<Set<T>, Integer> positions) {
+        int first = -1;
+        final Iterator<?> values = element instanceof Edge && key.equals(label.getAccessor()) ?
+                IteratorUtils.of(element.label()) :
+                IteratorUtils.map(element.properties(key), Property::value);
+        while (values.hasNext()) {
+            final Integer position = positions.get(keyMap.get(values.next()));
+            if (null != position && (-1 == first || position < first))
+                first = position;
+        }
+        return first;
+    }
+
+    /**
+     * Get the values of the keys of a composite index if every key is bound by an equality container.
+     *
+     * @return the values in the order of the keys or {@code null} if any of the keys is not bound
+     */
+    private static List<Object> equalityValues(final List<String> keys, final List<HasContainer> hasContainers) {
+        final List<Object> values = new ArrayList<>(keys.size());
+        for (final String key : keys) {
+            Object value = null;
+            for (final HasContainer hasContainer : hasContainers) {
+                if (hasContainer.key.equals(key) && hasContainer.predicate.equals(Compare.eq) && null != hasContainer.value) {
+                    value = hasContainer.value;
+                    break;
+                }
+            }
+            if (null == value)
+                return null;
+            values.add(value);
+        }
+        return values;
+    }
+
+    /**
+     * Collect the buckets of the key map that answer the containers on the key. Collection stops as soon as the
+     * buckets hold at least {@code limit} elements as a more selective lookup is already known.
+     */
+    private Collection<Set<T>> buckets(final Map<Object, Set<T>> keyMap, final String key, final List<HasContainer> hasContainers, final long limit) {
+        Object lower = null;
+        Object upper = null;
+        for (final HasContainer hasContainer : hasContainers) {
+            if (!hasContainer.key.equals(key) || null == hasContainer.value)
+                continue;
+            if (hasContainer.predicate.equals(Compare.eq)) {
+                final Set<T> set = keyMap.get(hasContainer.value);
+                return null == set ?
+                        Collections.emptyList() :
+                        set.size() < limit ? Collections.singletonList(set) : null;
+            } else if (hasContainer.predicate.equals(Contains.within) && hasContainer.value instanceof Collection) {
+                final List<Set<T>> sets = new ArrayList<>();
+                long count = 0;
+                for (final Object value : (Collection) hasContainer.value) {
+                    final Set<T> set = keyMap.get(value);
+                    if (null != set) {
+                        sets.add(set);
+                        if ((count = count + set.size()) >= limit) return null;
+                    }
+                }
+                return sets;
+            } else if (hasContainer.predicate.equals(Compare.gt) || hasContainer.predicate.equals(Compare.gte)) {
+                if (null == lower) lower = hasContainer.value;
+            } else if (hasContainer.predicate.equals(Compare.lt) || hasContainer.predicate.equals(Compare.lte)) {
+                if (null == upper) upper = hasContainer.value;
+            }
+        }
+        if ((null == lower && null == upper) || !(keyMap instanceof NavigableMap))
+            return null;
+        if (null != lower && null != upper) {
+            if (!sameOrder(lower, upper))
+                return null;
+            if (VALUE_COMPARATOR.compare(lower, upper) > 0)
+                return Collections.emptyList();
+        }
+        // bounds are always inclusive as values that compare as equal share a bucket
+        final NavigableMap<Object, Set<T>> navigableMap = (NavigableMap<Object, Set<T>>) keyMap;
+        final Object bound = null == lower ? upper : lower;
+        final NavigableMap<Object, Set<T>> range = null == lower ?
+                navigableMap.headMap(upper, true).descendingMap() :
+                null == upper ? navigableMap.tailMap(lower, true) : navigableMap.subMap(lower, true, upper, true);
+        final List<Set<T>> sets = new ArrayList<>();
+        long count = 0;
+        for (final Map.Entry<Object, Set<T>> entry : range.entrySet()) {
+            if (!sameOrder(bound, entry.getKey()))
+                break;
+            sets.add(entry.getValue());
+            if ((count = count + entry.getValue().size()) >= limit) return null;
+        }
+        return sets;
+    }
+
+    /**
+     * Determines if two values are in the same contiguous run of the {@link #VALUE_COMPARATOR} ordering.
+     */
+    private static boolean sameOrder(final Object a, final Object b) {
+        return (a instanceof Number && b instanceof Number) || a.getClass().equals(b.getClass());
+    }
+
     public long count(final String key, final Object value) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null == keyMap) {
@@ -89,48 +302,139 @@ class TinkerIndex<T extends Element> {
 
     public void remove(final String key, final Object value, final T element) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (null != keyMap) {
-            Set<T> objects = keyMap.get(value);
-            if (null != objects) {
-                objects.remove(element);
-                if (objects.size() == 0) {
-                    keyMap.remove(value);
-                }
+        if (null != keyMap)
+            this.remove(keyMap, value, element);
+    }
+
+    private void remove(final Map<Object, Set<T>> keyMap, final Object value, final T element) {
+        this.remove(keyMap, value, element, Collections.emptyList());
+    }
+
+    /**
+     * Remove the element from the bucket of the value unless one of the values the element retains maps to the same
+     * bucket. Distinct values share a bucket if they compare as equal in an {@link TinkerGraph.IndexType#ORDERED}
+     * index, e.g. {@code 1} and {@code 1.0d}, or if they are equal.
+     */
+    private void remove(final Map<Object, Set<T>> keyMap, final Object value, final T element, final List<?> retainedValues) {
+        synchronized (this.stripe(value)) {
+            final Set<T> objects = keyMap.get(value);
+            if (null == objects)
+                return;
+            for (final Object retainedValue : retainedValues) {
+                if (keyMap.get(retainedValue) == objects)
+                    return;
             }
+            if (objects.remove(element) && objects.isEmpty())
+                keyMap.remove(value);
         }
     }
 
+    /**
+     * Removes the element from the buckets of its indexed values. The values are read from the element itself so
+     * this must be called prior to the element's properties being cleared.
+     */
     public void removeElement(final T element) {
         if (this.indexClass.isAssignableFrom(element.getClass())) {
-            for (Map<Object, Set<T>> map : index.values()) {
-                for (Set<T> set : map.values()) {
-                    set.remove(element);
+            for (final String key : this.indexedKeys) {
+                if (element instanceof Edge && key.equals(label.getAccessor()))
+                    this.remove(key, element.label(), element);
+                else {
+                    final Iterator<? extends Property<Object>> properties = element.properties(key);
+                    while (properties.hasNext()) {
+                        this.remove(key, properties.next().value(), element);
+                    }
                 }
             }
+            this.compositeIndex.forEach((keys, keyMap) ->
+                    compositeValues(keys, element, null, null).forEach(values -> this.remove(keyMap, values, element)));
         }
     }
 
+    /**
+     * Update the index for the changed value of the key. The element must already hold the new value.
+     */
     public void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element) {
         if (this.indexedKeys.contains(key)) {
             if (oldValue != null)
-                this.remove(key, oldValue, element);
+                this.autoRemove(this.index.get(key), key, oldValue, element);
             this.put(key, newValue, element);
         }
+        this.compositeIndex.forEach((keys, keyMap) -> {
+            if (keys.contains(key)) {
+                if (oldValue != null) {
+                    final List<List<Object>> retainedValues = compositeValues(keys, element, null, null);
+                    compositeValues(keys, element, key, oldValue).forEach(values -> this.remove(keyMap, values, element, retainedValues));
+                }
+                compositeValues(keys, element, key, newValue).forEach(values -> this.put(keyMap, values, element));
+            }
+        });
     }
 
+    /**
+     * Update the index for the removed value of the key. The element must no longer hold the value.
+     */
     public void autoRemove(final String key, final Object oldValue, final T element) {
         if (this.indexedKeys.contains(key))
-            this.remove(key, oldValue, element);
+            this.autoRemove(this.index.get(key), key, oldValue, element);
+        this.compositeIndex.forEach((keys, keyMap) -> {
+            if (keys.contains(key)) {
+                final List<List<Object>> retainedValues = compositeValues(keys, element, null, null);
+                compositeValues(keys, element, key, oldValue).forEach(values -> this.remove(keyMap, values, element, retainedValues));
+            }
+        });
+    }
+
+    private void autoRemove(final Map<Object, Set<T>> keyMap, final String key, final Object oldValue, final T element) {
+        if (null != keyMap)
+            this.remove(keyMap, oldValue, element, IteratorUtils.list(IteratorUtils.map(element.properties(key), Property::value)));
+    }
+
+    /**
+     * Get the composite values of the element for the keys of a composite index, i.e. the cartesian product of the
+     * values of each key. The values of the provided key are substituted by the provided value which allows the
+     * entries of an updated or removed value to be determined. An element that is missing any of the keys has no
+     * composite values.
+     */
+    private static List<List<Object>> compositeValues(final List<String> keys, final Element element, final String key, final Object value) {
+        List<List<Object>> compositeValues = Collections.singletonList(Collections.emptyList());
+        for (final String compositeKey : keys) {
+            final List<Object> keyValues;
+            if (compositeKey.equals(key))
+                keyValues = Collections.singletonList(value);
+            else if (compositeKey.equals(label.getAccessor()))
+                keyValues = Collections.singletonList(element.label());
+            else
+                keyValues = IteratorUtils.list(IteratorUtils.map(element.properties(compositeKey), Property::value));
+            if (keyValues.isEmpty())
+                return Collections.emptyList();
+            final List<List<Object>> product = new ArrayList<>(compositeValues.size() * keyValues.size());
+            for (final List<Object> prefix : compositeValues) {
+                for (final Object keyValue : keyValues) {
+                    final List<Object> values = new ArrayList<>(prefix);
+                    values.add(keyValue);
+                    product.add(values);
+                }
+            }
+            compositeValues = product;
+        }
+        return compositeValues;
     }
 
     public void createKeyIndex(final String key) {
+        this.createKeyIndex(key, TinkerGraph.IndexType.HASH);
+    }
+
+    public void createKeyIndex(final String key, final TinkerGraph.IndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
 
-        if (this.indexedKeys.contains(key))
+        if (null != this.index.putIfAbsent(key, indexType.equals(TinkerGraph.IndexType.ORDERED) ?
+                new ConcurrentSkipListMap<>(VALUE_COMPARATOR) :
+                new ConcurrentHashMap<>()))
             return;
+        // updates made from here on are indexed automatically and updates made before are found by the scan
         this.indexedKeys.add(key);
 
         (Vertex.class.isAssignableFrom(this.indexClass) ?
@@ -142,13 +446,46 @@ class TinkerIndex<T extends Element> {
     }
 
     public void dropKeyIndex(final String key) {
-        if (this.index.containsKey(key))
-            this.index.remove(key).clear();
-
         this.indexedKeys.remove(key);
+        final Map<Object, Set<T>> keyMap = this.index.remove(key);
+        if (null != keyMap)
+            keyMap.clear();
+    }
+
+    public void createCompositeIndex(final List<String> keys) {
+        if (null == keys)
+            throw Graph.Exceptions.argumentCanNotBeNull("keys");
+        if (keys.size() < 2)
+            throw new IllegalArgumentException("A composite index requires at least two keys: " + keys);
+        if (keys.stream().anyMatch(key -> null == key || key.isEmpty()))
+            throw new IllegalArgumentException("The keys for the composite index cannot be null or empty strings: " + keys);
+
+        final List<String> compositeKeys = Collections.unmodifiableList(new ArrayList<>(keys));
+        final Map<Object, Set<T>> keyMap = new ConcurrentHashMap<>();
+        if (null != this.compositeIndex.putIfAbsent(compositeKeys, keyMap))
+            return;
+
+        (Vertex.class.isAssignableFrom(this.indexClass) ?
+                this.graph.vertices.values().<T>parallelStream() :
+                this.graph.edges.values().<T>parallelStream())
+                .forEach(e -> compositeValues(compositeKeys, (T) e, null, null).forEach(values -> this.put(keyMap, values, (T) e)));
+    }
+
+    public void dropCompositeIndex(final List<String> keys) {
+        final Map<Object, Set<T>> keyMap = this.compositeIndex.remove(keys);
+        if (null != keyMap)
+            keyMap.clear();
+    }
+
+    public TinkerGraph.IndexType getIndexType(final String key) {
+        return this.index.get(key) instanceof NavigableMap ? TinkerGraph.IndexType.ORDERED : TinkerGraph.IndexType.HASH;
     }
 
     public Set<String> getIndexedKeys() {
         return this.indexedKeys;
     }
+
+    public Set<List<String>> getCompositeIndexedKeys() {
+        return this.compositeIndex.keySet();
+    }
 }
@@ -22,28 +22,36 @@ import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.ArrayIterator;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
+ * The properties of a {@code TinkerVertex} are keyed by property key and the value stored under a key is either the
+ * single {@link VertexProperty} for that key or, when there are multiple properties for the key, an array of them.
+ * As single cardinality is the common case, a lookup by key need not go through a list wrapper. The arrays are
+ * copied on write so that iterators over them never need to be copied to tolerate concurrent mutation.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TinkerVertex extends TinkerElement implements Vertex {
 
-    protected Map<String, List<VertexProperty>> properties;
+    protected Map<String, Object> properties;
     protected Map<String, Set<Edge>> outEdges;
     protected Map<String, Set<Edge>> inEdges;
     private final TinkerGraph graph;
@@ -71,17 +79,29 @@ public class TinkerVertex extends TinkerElement implements Vertex {
             else
                 throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
         } else {
-            if (this.properties != null && this.properties.containsKey(key)) {
-                final List<VertexProperty> list = (List) this.properties.get(key);
-                if (list.size() > 1)
-                    throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
-                else
-                    return list.get(0);
-            } else
+            final Object object = null == this.properties ? null : this.properties.get(key);
+            if (null == object)
                 return VertexProperty.<V>empty();
+            else if (object instanceof VertexProperty)
+                return (VertexProperty<V>) object;
+            else
+                throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
         }
     }
 
+    @Override
+    public <V> V value(final String key) throws NoSuchElementException {
+        if (this.removed || TinkerHelper.inComputerMode(this.graph))
+            return Vertex.super.value(key);
+        final Object object = null == this.properties ? null : this.properties.get(key);
+        if (null == object)
+            throw Property.Exceptions.propertyDoesNotExist(this, key);
+        else if (object instanceof VertexProperty)
+            return ((VertexProperty<V>) object).value();
+        else
+            throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
+    }
+
     @Override
     public <V> VertexProperty<V> property(final String key, final V value, final Object... keyValues) {
         return this.property(VertexProperty.Cardinality.single,key,value,keyValues);
@@ -93,6 +113,8 @@ public class TinkerVertex extends TinkerElement implements Vertex {
         ElementHelper.legalPropertyKeyValueArray(keyValues);
         ElementHelper.validateProperty(key, value);
         final Optional<Object> optionalId = ElementHelper.getIdValue(keyValues);
+        if (VertexProperty.Cardinality.single.equals(cardinality) && 0 == keyValues.length && TinkerHelper.inComputerMode(this.graph))
+            return this.graph.graphView.setProperty(this, key, value);
         final Optional<VertexProperty<V>> optionalVertexProperty = ElementHelper.stageVertexProperty(this, cardinality, key, value, keyValues);
         if (optionalVertexProperty.isPresent()) return optionalVertexProperty.get();
 
@@ -108,9 +130,15 @@ public class TinkerVertex extends TinkerElement implements Vertex {
             final VertexProperty<V> vertexProperty = new TinkerVertexProperty<V>(idValue, this, key, value);
 
             if (null == this.properties) this.properties = new HashMap<>();
-            final List<VertexProperty> list = this.properties.getOrDefault(key, new ArrayList<>());
-            list.add(vertexProperty);
-            this.properties.put(key, list);
+            final Object object = this.properties.get(key);
+            if (null == object)
+                this.properties.put(key, vertexProperty);
+            else {
+                final VertexProperty[] array = object instanceof VertexProperty ? new VertexProperty[]{(VertexProperty) object} : (VertexProperty[]) object;
+                final VertexProperty[] newArray = Arrays.copyOf(array, array.length + 1);
+                newArray[array.length] = vertexProperty;
+                this.properties.put(key, newArray);
+            }
             TinkerHelper.autoUpdateIndex(this, key, value, null);
             ElementHelper.attachProperties(vertexProperty, keyValues);
             return vertexProperty;
@@ -138,9 +166,10 @@ public class TinkerVertex extends TinkerElement implements Vertex {
         final List<Edge> edges = new ArrayList<>();
         this.edges(Direction.BOTH).forEachRemaining(edges::add);
         edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
-        this.properties = null;
         TinkerHelper.removeElementIndex(this);
+        this.properties = null;
         this.graph.vertices.remove(this.id);
+        TinkerHelper.removeLabelledElement(this.graph.vertexLabels, this);
         this.removed = true;
     }
 
@@ -161,21 +190,95 @@ public class TinkerVertex extends TinkerElement implements Vertex {
 
     @Override
     public <V> Iterator<VertexProperty<V>> properties(final String... propertyKeys) {
-        if (TinkerHelper.inComputerMode((TinkerGraph) graph()))
-            return (Iterator) ((TinkerGraph) graph()).graphView.getProperties(TinkerVertex.this).stream().filter(p -> ElementHelper.keyExists(p.key(), propertyKeys)).iterator();
+        if (TinkerHelper.inComputerMode(this.graph))
+            return (Iterator) IteratorUtils.filter(this.graph.graphView.getProperties(TinkerVertex.this).iterator(), p -> ElementHelper.keyExists(p.key(), propertyKeys));
         else {
             if (null == this.properties) return Collections.emptyIterator();
             if (propertyKeys.length == 1) {
-                final List<VertexProperty> properties = this.properties.getOrDefault(propertyKeys[0], Collections.emptyList());
-                if (properties.size() == 1) {
-                    return IteratorUtils.of(properties.get(0));
-                } else if (properties.isEmpty()) {
+                final Object object = this.properties.get(propertyKeys[0]);
+                if (null == object)
                     return Collections.emptyIterator();
-                } else {
-                    return (Iterator) new ArrayList<>(properties).iterator();
+                else if (object instanceof VertexProperty)
+                    return IteratorUtils.of((VertexProperty<V>) object);
+                else
+                    return new ArrayIterator<>((VertexProperty<V>[]) object);
+            } else {
+                final List<VertexProperty<V>> list = new ArrayList<>();
+                for (final Map.Entry<String, Object> entry : this.properties.entrySet()) {
+                    if (ElementHelper.keyExists(entry.getKey(), propertyKeys))
+                        addProperties(entry.getValue(), (List) list);
                 }
-            } else
-                return (Iterator) this.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).flatMap(entry -> entry.getValue().stream()).collect(Collectors.toList()).iterator();
+                return list.iterator();
+            }
         }
     }
+
+    @Override
+    public <V> Iterator<V> values(final String... propertyKeys) {
+        if (propertyKeys.length == 1 && !this.removed && !TinkerHelper.inComputerMode(this.graph) && null != this.properties) {
+            final Object object = this.properties.get(propertyKeys[0]);
+            if (null == object)
+                return Collections.emptyIterator();
+            else if (object instanceof VertexProperty)
+                return IteratorUtils.of(((VertexProperty<V>) object).value());
+        }
+        return Vertex.super.values(propertyKeys);
+    }
+
+    /**
+     * Get the list of properties of the provided key without copying the single property case.
+     */
+    List<VertexProperty> getProperties(final String key) {
+        final Object object = null == this.properties ? null : this.properties.get(key);
+        if (null == object)
+            return Collections.emptyList();
+        else if (object instanceof VertexProperty)
+            return Collections.singletonList((VertexProperty) object);
+        else
+            return Arrays.asList((VertexProperty[]) object);
+    }
+
+    /**
+     * Append all properties of the vertex to the provided list.
+     */
+    void getProperties(final List<VertexProperty> list) {
+        if (null != this.properties) {
+            for (final Object object : this.properties.values()) {
+                addProperties(object, list);
+            }
+        }
+    }
+
+    /**
+     * Remove the provided property from the vertex, unwrapping the array when a single property of its key remains.
+     */
+    void removeProperty(final VertexProperty property) {
+        final Object object = null == this.properties ? null : this.properties.get(property.key());
+        if (object instanceof VertexProperty) {
+            if (object.equals(property))
+                this.properties.remove(property.key());
+        } else if (null != object) {
+            final VertexProperty[] array = (VertexProperty[]) object;
+            for (int i = 0; i < array.length; i++) {
+                if (array[i].equals(property)) {
+                    if (array.length == 2)
+                        this.properties.put(property.key(), array[1 - i]);
+                    else {
+                        final VertexProperty[] newArray = new VertexProperty[array.length - 1];
+                        System.arraycopy(array, 0, newArray, 0, i);
+                        System.arraycopy(array, i + 1, newArray, i, newArray.length - i);
+                        this.properties.put(property.key(), newArray);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void addProperties(final Object object, final List<VertexProperty> list) {
+        if (object instanceof VertexProperty)
+            list.add((VertexProperty) object);
+        else
+            Collections.addAll(list, (VertexProperty[]) object);
+    }
 }
@@ -28,13 +28,14 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphView;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -131,11 +132,9 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
     @Override
     public void remove() {
         if (null != this.vertex.properties && this.vertex.properties.containsKey(this.key)) {
-            this.vertex.properties.get(this.key).remove(this);
-            if (this.vertex.properties.get(this.key).size() == 0) {
-                this.vertex.properties.remove(this.key);
+            this.vertex.removeProperty(this);
+            if (!this.vertex.properties.containsKey(this.key))
                 TinkerHelper.removeIndex(this.vertex, this.key, this.value);
-            }
             final AtomicBoolean delete = new AtomicBoolean(true);
             this.vertex.properties(this.key).forEachRemaining(property -> {
                 if (property.value().equals(this.value))
@@ -153,7 +152,22 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
         if (propertyKeys.length == 1) {
             final Property<U> property = this.properties.get(propertyKeys[0]);
             return null == property ? Collections.emptyIterator() : IteratorUtils.of(property);
-        } else
-            return (Iterator) this.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).map(entry -> entry.getValue()).collect(Collectors.toList()).iterator();
+        } else {
+            final List<Property<U>> list = new ArrayList<>();
+            for (final Map.Entry<String, Property> entry : this.properties.entrySet()) {
+                if (ElementHelper.keyExists(entry.getKey(), propertyKeys))
+                    list.add(entry.getValue());
+            }
+            return list.iterator();
+        }
+    }
+
+    @Override
+    public <U> Iterator<U> values(final String... propertyKeys) {
+        if (propertyKeys.length == 1 && null != this.properties) {
+            final Property<U> property = this.properties.get(propertyKeys[0]);
+            return null == property ? Collections.emptyIterator() : IteratorUtils.of(property.value());
+        }
+        return VertexProperty.super.values(propertyKeys);
     }
 }
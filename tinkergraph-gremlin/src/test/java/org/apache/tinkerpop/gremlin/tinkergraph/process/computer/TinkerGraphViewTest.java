@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TinkerGraphViewTest {
+
+    @Test
+    public void shouldStoreComputeKeysInColumnsOfTheGraphView() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Vertex a = graph.addVertex("name", "a");
+        final Vertex b = graph.addVertex("name", "b");
+        TinkerHelper.createGraphView(graph, GraphComputer.Isolation.BSP, new HashSet<>(Arrays.asList("rank", "tags")), new TinkerVertexOrdinals(graph));
+
+        a.property("rank", 1.0d);
+        a.property("rank", 2.0d);
+        b.property("rank", 3.0d);
+        assertEquals(2.0d, a.<Double>value("rank"), 0.0d);
+        assertEquals(3.0d, b.<Double>value("rank"), 0.0d);
+        assertEquals(1, IteratorUtils.count(a.properties("rank")));
+        assertEquals(a.property("rank"), a.property("rank"));
+        assertNotEquals(a.property("rank"), b.property("rank"));
+
+        a.property("rank").property("converged", true);
+        assertTrue(a.property("rank").<Boolean>value("converged"));
+
+        a.property(VertexProperty.Cardinality.list, "tags", "x");
+        a.property(VertexProperty.Cardinality.list, "tags", "y");
+        assertEquals(2, IteratorUtils.count(a.properties("tags")));
+        assertEquals(4, IteratorUtils.count(a.properties()));
+        a.properties("tags").forEachRemaining(VertexProperty::remove);
+        assertEquals(0, IteratorUtils.count(a.properties("tags")));
+
+        a.property("rank").remove();
+        assertFalse(a.property("rank").isPresent());
+        assertEquals("a", a.value("name"));
+        try {
+            a.property("name", "c");
+            fail("Only compute keys can be written in computer mode");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+
+        graph.close();
+        assertFalse(b.property("rank").isPresent());
+    }
+
+    @Test
+    public void shouldNotRemoveAReplacedValueThroughAStaleProperty() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Vertex a = graph.addVertex("name", "a");
+        TinkerHelper.createGraphView(graph, GraphComputer.Isolation.BSP, Collections.singleton("rank"), new TinkerVertexOrdinals(graph));
+
+        final VertexProperty<Double> stale = a.property("rank", 1.0d);
+        a.property("rank", 2.0d);
+        assertNotEquals(stale.id(), a.property("rank").id());
+        stale.remove();
+        assertEquals(2.0d, a.<Double>value("rank"), 0.0d);
+        a.property("rank").remove();
+        assertFalse(a.property("rank").isPresent());
+        graph.close();
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.util.StaticVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TinkerMessageBoardTest {
+
+    @Test
+    public void shouldOnlyExecuteHaltedVerticesWithMessagesAlongCompiledRoutes() throws Exception {
+        final ComputerResult result = createChain(10).compute().program(new RelayVertexProgram(MessageScope.Local.of(() -> __.<Vertex>outE("next")))).submit().get();
+        // every vertex is executed in the first iteration and then only the vertex that received the relayed message
+        assertEquals(19l, result.memory().<Long>get(RelayVertexProgram.EXECUTIONS).longValue());
+        assertEquals(9l, result.memory().<Long>get(RelayVertexProgram.RECEIVED).longValue());
+    }
+
+    @Test
+    public void shouldExecuteAllHaltedVerticesAlongUncompiledRoutes() throws Exception {
+        final ComputerResult result = createChain(10).compute().program(new RelayVertexProgram(MessageScope.Local.of(() -> __.<Vertex>outE("next").has(T.label, "next")))).submit().get();
+        assertEquals(100l, result.memory().<Long>get(RelayVertexProgram.EXECUTIONS).longValue());
+        assertEquals(9l, result.memory().<Long>get(RelayVertexProgram.RECEIVED).longValue());
+    }
+
+    @Test
+    public void shouldPropagatePageRankDeltasUntilVerticesVoteToHalt() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            vertices.add(graph.addVertex(T.id, i));
+        }
+        for (int i = 0; i < 100; i++) {
+            vertices.get(i).addEdge("next", vertices.get((i + 1) % 100));
+            vertices.get(i).addEdge("next", vertices.get((i * 7 + 3) % 100));
+            if (i % 5 == 0)
+                vertices.get(i).addEdge("next", vertices.get(0));
+        }
+        final Map<Object, Double> standard = IteratorUtils.collectMap(graph.compute().program(PageRankVertexProgram.build().vertexCount(100).iterations(200).create()).submit().get().graph().vertices(),
+                Vertex::id, vertex -> vertex.<Double>value(PageRankVertexProgram.PAGE_RANK));
+        final ComputerResult delta = graph.compute().program(PageRankVertexProgram.build().vertexCount(100).iterations(200).epsilon(1e-9d).create()).submit().get();
+        assertEquals(100, standard.size());
+        delta.graph().vertices().forEachRemaining(vertex -> assertEquals(standard.get(vertex.id()), vertex.<Double>value(PageRankVertexProgram.PAGE_RANK), 0.000001d));
+        // every vertex voted to halt before the last iteration
+        assertTrue(delta.memory().getIteration() < 200);
+    }
+
+    @Test
+    public void shouldRejectMessagesForVerticesOutsideTheComputation() {
+        final TinkerGraph graph = createChain(3);
+        final TinkerMessageBoard<Long> messageBoard = new TinkerMessageBoard<>(new TinkerVertexOrdinals(graph), Optional.empty());
+        messageBoard.sendMessage(2, 1l);
+        for (final int ordinal : new int[]{-1, 3}) {
+            try {
+                messageBoard.sendMessage(ordinal, 1l);
+                fail("Should have thrown an IllegalStateException for ordinal " + ordinal);
+            } catch (IllegalStateException ise) {
+                // expected
+            }
+            try {
+                messageBoard.receiveMessages(ordinal);
+                fail("Should have thrown an IllegalStateException for ordinal " + ordinal);
+            } catch (IllegalStateException ise) {
+                // expected
+            }
+        }
+        try {
+            messageBoard.sendMessage(graph.addVertex(T.id, 3), 1l);
+            fail("Should have thrown an IllegalStateException for a vertex added after the ordinals were assigned");
+        } catch (IllegalStateException ise) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldCombineDoubleMessagesAcrossIterations() {
+        final TinkerMessageBoard<Double> messageBoard = new TinkerMessageBoard<>(new TinkerVertexOrdinals(createChain(3)), Optional.of((a, b) -> a + b));
+        for (int iteration = 1; iteration <= 3; iteration++) {
+            messageBoard.sendMessage(0, 0.5d * iteration);
+            messageBoard.sendMessage(0, 1.0d * iteration);
+            messageBoard.sendMessage(2, 2.0d * iteration);
+            messageBoard.completeIteration();
+            assertEquals(Collections.singletonList(1.5d * iteration), IteratorUtils.list(messageBoard.receiveMessages(0)));
+            assertEquals(0, IteratorUtils.count(messageBoard.receiveMessages(1)));
+            assertEquals(Collections.singletonList(2.0d * iteration), IteratorUtils.list(messageBoard.receiveMessages(2)));
+        }
+    }
+
+    @Test
+    public void shouldRouteCombinedMessagesByVertexOrdinal() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            vertices.add(graph.addVertex(T.id, i));
+        }
+        for (int i = 0; i < 100; i++) {
+            vertices.get(i).addEdge("next", vertices.get((i + 1) % 100));
+        }
+        final Graph result = graph.compute().program(PageRankVertexProgram.build().vertexCount(100).iterations(5).create()).submit().get().graph();
+        assertEquals(100, IteratorUtils.count(result.vertices()));
+        result.vertices().forEachRemaining(vertex -> assertEquals(0.01d, vertex.<Double>value(PageRankVertexProgram.PAGE_RANK), 0.000001d));
+    }
+
+    @Test
+    public void shouldRouteLabelledLocalMessagesAlongAdjacency() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            vertices.add(graph.addVertex(T.id, i));
+        }
+        for (int i = 0; i < 100; i++) {
+            vertices.get(i).addEdge("next", vertices.get((i + 1) % 100));
+            vertices.get(i).addEdge("skip", vertices.get((i + 2) % 100));
+            vertices.get(i).addEdge("skip", vertices.get(i % 3));
+        }
+        final List<Supplier<Traversal<Vertex, Edge>>> incidentTraversals = Arrays.asList(() -> __.outE("next"), () -> __.inE("next"));
+        for (final Supplier<Traversal<Vertex, Edge>> incidentTraversal : incidentTraversals) {
+            final Graph result = graph.compute().program(PageRankVertexProgram.build().incident(incidentTraversal).vertexCount(100).iterations(5).create()).submit().get().graph();
+            result.vertices().forEachRemaining(vertex -> assertEquals(0.01d, vertex.<Double>value(PageRankVertexProgram.PAGE_RANK), 0.000001d));
+        }
+    }
+
+    private static TinkerGraph createChain(final int length) {
+        final TinkerGraph graph = TinkerGraph.open();
+        Vertex previous = graph.addVertex(T.id, 0);
+        for (int i = 1; i < length; i++) {
+            final Vertex next = graph.addVertex(T.id, i);
+            previous.addEdge("next", next);
+            previous = next;
+        }
+        return graph;
+    }
+
+    /**
+     * The first vertex sends a message that every vertex relays to the next vertex of the chain. Every vertex votes
+     * to halt in every iteration.
+     */
+    private static class RelayVertexProgram extends StaticVertexProgram<Long> {
+
+        private static final String EXECUTIONS = "executions";
+        private static final String RECEIVED = "received";
+        private static final Set<String> MEMORY_COMPUTE_KEYS = new HashSet<>(Arrays.asList(EXECUTIONS, RECEIVED));
+
+        private final MessageScope.Local<Long> messageScope;
+
+        private RelayVertexProgram(final MessageScope.Local<Long> messageScope) {
+            this.messageScope = messageScope;
+        }
+
+        @Override
+        public void setup(final Memory memory) {
+            memory.set(EXECUTIONS, 0l);
+            memory.set(RECEIVED, 0l);
+        }
+
+        @Override
+        public void execute(final Vertex vertex, final Messenger<Long> messenger, final Memory memory) {
+            memory.incr(EXECUTIONS, 1l);
+            if (memory.isInitialIteration()) {
+                if (vertex.id().equals(0))
+                    messenger.sendMessage(this.messageScope, 1l);
+            } else {
+                final long received = IteratorUtils.count(messenger.receiveMessages());
+                memory.incr(RECEIVED, received);
+                if (received > 0)
+                    messenger.sendMessage(this.messageScope, 1l);
+            }
+            messenger.voteToHalt();
+        }
+
+        @Override
+        public boolean terminate(final Memory memory) {
+            return memory.getIteration() >= 9;
+        }
+
+        @Override
+        public Set<String> getMemoryComputeKeys() {
+            return MEMORY_COMPUTE_KEYS;
+        }
+
+        @Override
+        public Set<MessageScope> getMessageScopes(final Memory memory) {
+            return Collections.singleton(this.messageScope);
+        }
+
+        @Override
+        public GraphComputer.ResultGraph getPreferredResultGraph() {
+            return GraphComputer.ResultGraph.ORIGINAL;
+        }
+
+        @Override
+        public GraphComputer.Persist getPreferredPersist() {
+            return GraphComputer.Persist.NOTHING;
+        }
+    }
+}
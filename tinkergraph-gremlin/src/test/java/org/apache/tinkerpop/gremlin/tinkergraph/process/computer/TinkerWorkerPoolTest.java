@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TinkerWorkerPoolTest {
+
+    @Test
+    public void shouldExecuteEveryIndexOnceAcrossStealingWorkers() throws Exception {
+        try (final TinkerWorkerPool workers = new TinkerWorkerPool(4)) {
+            workers.setVertexProgram(PageRankVertexProgram.build().create());
+            for (final int size : Arrays.asList(0, 1, 3, 100, 100000)) {
+                final AtomicIntegerArray executions = new AtomicIntegerArray(size);
+                workers.executeVertexProgram(size, (vertexProgram, index) -> {
+                    if (index % 1000 == 0) {
+                        // simulate a skewed high degree vertex
+                        try {
+                            Thread.sleep(1);
+                        } catch (final InterruptedException e) {
+                            throw new IllegalStateException(e.getMessage(), e);
+                        }
+                    }
+                    executions.incrementAndGet(index);
+                });
+                for (int i = 0; i < size; i++) {
+                    assertEquals(1, executions.get(i));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.branch;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.both;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.hasId;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.in;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.sideEffect;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class BreadthFirstRepeatTest {
+
+    @Test
+    public void shouldMergeRepeatFrontiersInBreadthFirstMode() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final List<Vertex> previous = new ArrayList<>();
+        for (int layer = 0; layer < 6; layer++) {
+            final List<Vertex> current = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                final Vertex vertex = graph.addVertex("layer", layer);
+                previous.forEach(v -> v.addEdge("next", vertex));
+                current.add(vertex);
+            }
+            previous.clear();
+            previous.addAll(current);
+        }
+        final GraphTraversalSource g = graph.traversal();
+        final AtomicInteger loopedTraversers = new AtomicInteger(0);
+        final Traversal.Admin<Vertex, Long> traversal = g.V().has("layer", 0).repeat(sideEffect(t -> loopedTraversers.incrementAndGet()).out()).times(5).breadthFirst().count().asAdmin();
+        final RepeatStep<?> repeatStep = TraversalHelper.getStepsOfClass(RepeatStep.class, traversal).get(0);
+        assertTrue(repeatStep.isBreadthFirst());
+        assertFalse(repeatStep.isFilterVisited());
+        assertEquals(1000000L, traversal.next().longValue());
+        // every loop processes at most one traverser per vertex of a layer
+        assertEquals(50, loopedTraversers.get());
+        assertEquals(1000000L, g.V().has("layer", 0).repeat(out()).times(5).count().next().longValue());
+        assertEquals(1000000L, g.V().has("layer", 0).breadthFirst().repeat(out()).times(5).count().next().longValue());
+    }
+
+    @Test
+    public void shouldNotBeBreadthFirstUnlessModulated() {
+        final Traversal.Admin<Vertex, Vertex> traversal = TinkerFactory.createModern().traversal().V(1).repeat(out()).times(2).asAdmin();
+        assertFalse(TraversalHelper.getStepsOfClass(RepeatStep.class, traversal).get(0).isBreadthFirst());
+    }
+
+    @Test
+    public void shouldFilterVisitedObjectsInBreadthFirstMode() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        assertEquals(5, g.V(1).repeat(out()).emit().toList().size());
+        final Traversal.Admin<Vertex, String> traversal = g.V(1).repeat(out()).emit().filterVisited().<String>values("name").asAdmin();
+        assertTrue(TraversalHelper.getStepsOfClass(RepeatStep.class, traversal).get(0).isBreadthFirst());
+        final List<String> reached = traversal.toList();
+        assertEquals(new HashSet<>(Arrays.asList("vadas", "josh", "lop", "ripple")), new HashSet<>(reached));
+        // lop reached again by way of josh is merged into the lop emitted in the first loop
+        assertEquals(5, reached.size());
+        // both() cycles without the visited filter
+        assertEquals(new HashSet<>(Arrays.asList("ripple")), new HashSet<>(g.V(1).repeat(both()).until(hasId(5)).filterVisited().values("name").toList()));
+    }
+
+    @Test
+    public void shouldMergeVisitedStartsRatherThanDropThem() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        assertEquals(10l, g.V().hasLabel("person").out("created").repeat(in("created")).times(1).count().next().longValue());
+        assertEquals(10l, g.V().hasLabel("person").out("created").repeat(in("created")).times(1).filterVisited().count().next().longValue());
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.P;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TinkerGraphStepTest {
+
+    @Test
+    public void shouldOnlyStreamReadOnlyTraversals() {
+        final GraphTraversalSource g = TinkerGraph.open().traversal();
+        assertTrue(isStreaming(g.V().out().has("name", "marko").values("age").asAdmin()));
+        assertTrue(isStreaming(g.V().and(__.out().count().is(P.gt(1))).asAdmin()));
+        assertFalse(isStreaming(g.V().addV().asAdmin()));
+        assertFalse(isStreaming(g.V().local(__.out().drop()).asAdmin()));
+        assertFalse(isStreaming(g.V().map(t -> t.get().id()).asAdmin()));
+        assertFalse(isStreaming(g.V().and(__.sideEffect(t -> {
+        })).asAdmin()));
+    }
+
+    @Test
+    public void shouldNotIterateTheVerticesAddedByLambdaSteps() {
+        final TinkerGraph graph = TinkerGraph.open();
+        for (int i = 0; i < 10; i++) {
+            graph.addVertex();
+        }
+        assertEquals(10l, graph.traversal().V().sideEffect(t -> graph.addVertex()).limit(1000).count().next().longValue());
+        assertEquals(20l, graph.traversal().V().count().next().longValue());
+    }
+
+    @Test
+    public void shouldEmitMultiPropertyVerticesOnceFromIndices() {
+        for (final TinkerGraph.IndexType indexType : TinkerGraph.IndexType.values()) {
+            final TinkerGraph graph = TinkerGraph.open();
+            graph.createIndex("age", Vertex.class, indexType);
+            for (int i = 0; i < 10; i++) {
+                final Vertex vertex = graph.addVertex();
+                vertex.property(VertexProperty.Cardinality.list, "age", i);
+                vertex.property(VertexProperty.Cardinality.list, "age", i + 1);
+                vertex.property(VertexProperty.Cardinality.list, "age", i + 1);
+            }
+            assertEquals(10l, graph.traversal().V().has("age", P.within(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10)).count().next().longValue());
+            assertEquals(3l, graph.traversal().V().has("age", P.within(3, 4, 3)).count().next().longValue());
+            if (TinkerGraph.IndexType.ORDERED == indexType)
+                assertEquals(8l, graph.traversal().V().has("age", P.gte(2)).has("age", P.lte(8)).count().next().longValue());
+        }
+    }
+
+    @Test
+    public void shouldLazilyFilterAndLimitGraphStep() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("name", Vertex.class);
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("name", "marko", "age", i);
+        }
+
+        final AtomicInteger tests = new AtomicInteger(0);
+        assertEquals(2, g.traversal().V().has("age", counting(tests)).limit(2).toList().size());
+        assertEquals(2, tests.get());
+
+        tests.set(0);
+        assertEquals(3, g.traversal().V().has("name", "marko").has("age", counting(tests)).range(1, 4).toList().size());
+        assertEquals(4, tests.get());
+
+        tests.set(0);
+        assertEquals("marko", g.traversal().V().has("age", counting(tests)).values("name").next());
+        assertEquals(1, tests.get());
+    }
+
+    private static boolean isStreaming(final Traversal.Admin<?, ?> traversal) {
+        traversal.applyStrategies();
+        return ((TinkerGraphStep) traversal.getStartStep()).isStreaming();
+    }
+
+    /**
+     * A predicate that accepts every value and counts the values it is tested against.
+     */
+    private static P<Object> counting(final AtomicInteger tests) {
+        return P.test((t, u) -> tests.incrementAndGet() > 0, 0);
+    }
+}
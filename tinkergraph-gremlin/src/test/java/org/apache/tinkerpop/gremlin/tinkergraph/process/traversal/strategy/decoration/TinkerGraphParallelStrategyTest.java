@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.decoration;
+
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.P;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.branch.TinkerGraphParallelStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TinkerGraphParallelStrategyTest {
+
+    private TinkerGraph graph;
+    private GraphTraversalSource sg;
+    private GraphTraversalSource pg;
+
+    @Before
+    public void setup() {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.CONFIG_PARALLELISM, 4);
+        this.graph = TinkerGraph.open(configuration);
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            vertices.add(this.graph.addVertex("age", i % 50));
+        }
+        for (int i = 0; i < vertices.size(); i++) {
+            vertices.get(i).addEdge("next", vertices.get((i + 1) % vertices.size()));
+            vertices.get(i).addEdge("next", vertices.get((i + 7) % vertices.size()));
+        }
+        this.sg = this.graph.traversal();
+        this.pg = this.graph.traversal(GraphTraversalSource.build().with(TinkerGraphParallelStrategy.instance()));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.graph.close();
+    }
+
+    @Test
+    public void shouldProcessGraphStepPartitionsInParallel() {
+        final Traversal.Admin<Vertex, Long> traversal = this.pg.V().out().out().count().asAdmin();
+        assertTrue(isParallel(traversal));
+        assertEquals(20000l, traversal.next().longValue());
+        assertEquals(4, TinkerHelper.getParallelPool(this.graph).getParallelism());
+
+        assertEquals(this.sg.V().out().has("age", P.gt(10)).values("age").groupCount().next(), this.pg.V().out().has("age", P.gt(10)).values("age").groupCount().next());
+        assertEquals(this.sg.V().both().values("age").sum().next(), this.pg.V().both().values("age").sum().next());
+        assertEquals(this.sg.V().as("a").out().as("b").select("a", "b").by("age").dedup().count().next(), this.pg.V().as("a").out().as("b").select("a", "b").by("age").dedup().count().next());
+    }
+
+    @Test
+    public void shouldNotBulkTheResultsOfBarriersThatIgnoreBulk() {
+        assertTrue(isParallel(this.pg.V().out().values("age").fold().asAdmin()));
+        assertEquals(10000, this.pg.V().out().values("age").fold().next().size());
+        assertTrue(isParallel(this.pg.V().id().order().asAdmin()));
+        assertEquals(this.sg.V().id().order().toList(), this.pg.V().id().order().toList());
+    }
+
+    @Test
+    public void shouldNotProcessTraversalsWithLambdasInParallel() {
+        assertFalse(isParallel(this.pg.V().out().filter(t -> t.get().<Integer>value("age") < 5).values("age").count().asAdmin()));
+        assertFalse(isParallel(this.pg.V().out().values("age").count().map(t -> t.get() + 1).asAdmin()));
+        assertEquals(this.sg.V().out().filter(t -> t.get().<Integer>value("age") < 5).count().next(), this.pg.V().out().filter(t -> t.get().<Integer>value("age") < 5).count().next());
+    }
+
+    @Test
+    public void shouldNotProcessDedupInParallel() {
+        final Traversal.Admin<Vertex, Long> traversal = this.pg.V().out().dedup().count().asAdmin();
+        assertFalse(isParallel(traversal));
+        assertEquals(5000l, traversal.next().longValue());
+    }
+
+    @Test
+    public void shouldShutdownThePoolWhenTheGraphIsClosed() throws Exception {
+        this.pg.V().out().count().next();
+        final ForkJoinPool pool = TinkerHelper.getParallelPool(this.graph);
+        this.graph.close();
+        assertTrue(pool.isShutdown());
+        assertFalse(TinkerHelper.getParallelPool(this.graph).isShutdown());
+    }
+
+    private static boolean isParallel(final Traversal.Admin<?, ?> traversal) {
+        traversal.applyStrategies();
+        return TraversalHelper.hasStepOfClass(TinkerGraphParallelStep.class, traversal);
+    }
+}
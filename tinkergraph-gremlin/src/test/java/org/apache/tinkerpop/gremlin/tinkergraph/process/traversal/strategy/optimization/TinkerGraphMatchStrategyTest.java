@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.match.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.as;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TinkerGraphMatchStrategyTest {
+
+    @Test
+    public void shouldEstimateMatchTraversalsFromGraphStatistics() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        graph.createLabelIndex(Vertex.class);
+        graph.createLabelIndex(Edge.class);
+        final GraphTraversalSource g = graph.traversal();
+        final Traversal.Admin<Vertex, Map<String, Vertex>> traversal = g.V().<Vertex>match("a",
+                as("a").out("created").as("b"),
+                as("a").out("knows").as("c"),
+                as("c").out("created").as("b")).asAdmin();
+        final List<Map<String, Vertex>> results = traversal.toList();
+        assertEquals(1, results.size());
+        assertEquals("marko", results.get(0).get("a").value("name"));
+        assertEquals("lop", results.get(0).get("b").value("name"));
+        assertEquals("josh", results.get(0).get("c").value("name"));
+        final MatchStep<?, ?> matchStep = TraversalHelper.getStepsOfClass(MatchStep.class, traversal).get(0);
+        assertNotNull(matchStep.getCardinalityEstimator());
+        // 4 created edges, 2 knows edges and 2 software vertices over 6 vertices
+        assertEquals(4.0 / 6.0, matchStep.getCardinalityEstimator().estimateBranchFactor(out("created").asAdmin()), 0.0001);
+        assertEquals(2.0 / 6.0, matchStep.getCardinalityEstimator().estimateBranchFactor(out("knows").asAdmin()), 0.0001);
+        assertEquals(4.0 / 6.0 * 2.0 / 6.0, matchStep.getCardinalityEstimator().estimateBranchFactor(out("created").hasLabel("software").asAdmin()), 0.0001);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Order;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TinkerGraphOrderLimitStrategyTest {
+
+    @Test
+    public void shouldOrderTopTraversersOfRange() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        for (final GraphTraversalSource g : Arrays.asList(graph.traversal(), graph.traversal(GraphTraversalSource.computer()))) {
+            assertEquals(Arrays.asList(35, 32), g.V().values("age").order().by(Order.decr).limit(2).toList());
+            assertEquals(Arrays.asList(32, 29), g.V().values("age").order().by(Order.decr).range(1, 3).toList());
+            assertEquals(Arrays.asList("josh", "lop", "lop"), g.V().out().values("name").order().range(0, 3).toList());
+            assertEquals(Arrays.asList("lop", "lop", "ripple"), g.V().out().values("name").order().range(2, 5).toList());
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TinkerGraphAdjacencyTest {
+
+    private static TinkerGraph openCompact() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_COMPACT_ADJACENCY, true);
+        return TinkerGraph.open(conf);
+    }
+
+    @Test
+    public void shouldTraverseAndRemoveWithCompactAdjacency() {
+        final TinkerGraph g = openCompact();
+        final Vertex hub = g.addVertex();
+        final List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            edges.add(hub.addEdge(i % 2 == 0 ? "even" : "odd", g.addVertex("i", i)));
+        }
+        assertEquals(new Long(100), g.traversal().V(hub).out().count().next());
+        assertEquals(new Long(50), g.traversal().V(hub).out("even").count().next());
+        assertEquals(new Long(100), g.traversal().V(hub).outE("even", "odd").count().next());
+        assertEquals(new Long(1), g.traversal().V(hub).out("odd").has("i", 99).in("odd").count().next());
+
+        for (int i = 0; i < 100; i = i + 3) {
+            edges.get(i).remove();
+        }
+        assertEquals(new Long(66), g.traversal().V(hub).out().count().next());
+        assertEquals(new Long(33), g.traversal().V(hub).out("even").count().next());
+        assertEquals(new Long(0), g.traversal().V(hub).out().has("i", 3).count().next());
+        assertEquals(new Long(1), g.traversal().V(hub).out().has("i", 4).count().next());
+
+        hub.remove();
+        assertEquals(new Long(0), g.traversal().E().count().next());
+    }
+
+    @Test
+    public void shouldMutateAdjacencyWhileLazilyIterating() {
+        for (final boolean compact : Arrays.asList(false, true)) {
+            final Configuration conf = new BaseConfiguration();
+            conf.setProperty(TinkerGraph.CONFIG_COMPACT_ADJACENCY, compact);
+            final TinkerGraph g = TinkerGraph.open(conf);
+            final Vertex hub = g.addVertex();
+            for (int i = 0; i < 100; i++) {
+                hub.addEdge("knows", g.addVertex());
+            }
+
+            final Iterator<Vertex> vertices = hub.vertices(Direction.OUT, "knows");
+            int count = 0;
+            while (vertices.hasNext()) {
+                final Vertex vertex = vertices.next();
+                vertex.addEdge("knows", hub);
+                if (count++ % 2 == 0)
+                    vertex.edges(Direction.IN).next().remove();
+            }
+            assertEquals(100, count);
+            assertEquals(new Long(50), g.traversal().V(hub).outE().count().next());
+            assertEquals(new Long(100), g.traversal().V(hub).inE().count().next());
+
+            g.traversal().V(hub).bothE().drop().iterate();
+            assertEquals(new Long(0), g.traversal().E().count().next());
+        }
+    }
+
+    @Test
+    public void shouldShareEdgeLabelsThroughTheDictionary() {
+        final TinkerGraph g = openCompact();
+        final Vertex a = g.addVertex();
+        final Vertex b = g.addVertex();
+        final Edge first = a.addEdge(new String("knows"), b);
+        final Edge second = b.addEdge(new String("knows"), a);
+        assertSame(first.label(), second.label());
+        assertTrue(((TinkerVertex) a).outEdges instanceof TinkerAdjacency);
+        assertEquals(1, IteratorUtils.count(a.edges(Direction.OUT, new String("knows"))));
+    }
+
+    @Test
+    public void shouldDropLabelsWithTheirLastEdge() {
+        final TinkerGraph g = openCompact();
+        final TinkerVertex hub = (TinkerVertex) g.addVertex();
+        final Edge knows = hub.addEdge("knows", g.addVertex());
+        final Edge created = hub.addEdge("created", g.addVertex());
+        hub.addEdge("created", g.addVertex());
+        assertEquals(2, hub.outEdges.size());
+        knows.remove();
+        assertEquals(1, hub.outEdges.size());
+        assertFalse(hub.outEdges.containsKey("knows"));
+        assertEquals(2, IteratorUtils.count(hub.edges(Direction.OUT)));
+        created.remove();
+        assertEquals(1, hub.outEdges.get("created").size());
+        hub.addEdge("knows", g.addVertex());
+        assertEquals(2, IteratorUtils.count(hub.edges(Direction.OUT, "knows", "created")));
+    }
+
+    @Test
+    public void shouldKeepSnapshotsWhileAnyIteratorIsOpen() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex hub = g.addVertex();
+        final List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            edges.add(hub.addEdge("knows", g.addVertex()));
+        }
+        final Iterator<Edge> first = hub.edges(Direction.OUT, "knows");
+        final Iterator<Edge> second = hub.edges(Direction.OUT, "knows");
+        assertEquals(10, IteratorUtils.count(first));
+        edges.get(0).remove();
+        assertEquals(10, IteratorUtils.count(second));
+
+        final Iterator<Edge> third = hub.edges(Direction.OUT, "knows");
+        third.next();
+        edges.get(1).remove();
+        hub.addEdge("knows", g.addVertex());
+        assertEquals(8, IteratorUtils.count(third));
+        assertEquals(9, IteratorUtils.count(hub.edges(Direction.OUT, "knows")));
+        edges.get(2).remove();
+        assertEquals(8, IteratorUtils.count(hub.edges(Direction.OUT, "knows")));
+    }
+
+    @Test
+    public void shouldNotAddAnEdgeTwiceThroughTheLabelSet() {
+        final TinkerGraph g = openCompact();
+        final TinkerVertex hub = (TinkerVertex) g.addVertex();
+        final Edge knows = hub.addEdge("knows", g.addVertex());
+        final Set<Edge> edges = hub.outEdges.get("knows");
+        assertTrue(edges.contains(knows));
+        assertFalse(edges.add(knows));
+        assertEquals(1, edges.size());
+        final Edge other = g.addVertex().addEdge("knows", hub);
+        assertFalse(edges.contains(other));
+        assertTrue(edges.add(other));
+        assertEquals(2, edges.size());
+    }
+
+    @Test
+    public void shouldIterateSnapshotsOfManyLabels() {
+        final TinkerGraph g = openCompact();
+        final Vertex hub = g.addVertex();
+        final List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            edges.add(hub.addEdge("label" + (i % 100), g.addVertex()));
+        }
+        final List<Iterator<Edge>> iterators = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            iterators.add(hub.edges(Direction.OUT, "label" + i));
+        }
+        for (int i = 0; i < 200; i = i + 2) {
+            edges.get(i).remove();
+        }
+        for (final Iterator<Edge> iterator : iterators) {
+            assertEquals(2, IteratorUtils.count(iterator));
+        }
+        assertEquals(100, IteratorUtils.count(hub.edges(Direction.OUT)));
+        for (int i = 1; i < 200; i = i + 2) {
+            edges.get(i).remove();
+        }
+        assertEquals(0, ((TinkerVertex) hub).outEdges.size());
+    }
+}
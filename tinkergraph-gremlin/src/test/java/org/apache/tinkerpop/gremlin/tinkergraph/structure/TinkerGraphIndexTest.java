@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Compare;
+import org.apache.tinkerpop.gremlin.structure.P;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TinkerGraphIndexTest {
+
+    @Test
+    public void shouldUseOrderedVertexIndexForRangeLookups() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.ORDERED);
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("age", i);
+        }
+        g.addVertex("age", 100l);
+        g.addVertex("age", 101.5d);
+        g.addVertex("age", "unknown");
+
+        // range bounds are always inclusive in the index so the boundary value itself is a candidate
+        assertAges(50, 101.5d, candidates(g, new HasContainer("age", Compare.gt, 50)));
+        assertAges(0, 9, candidates(g, new HasContainer("age", Compare.lte, 9)));
+        assertAges(20, 30, candidates(g, new HasContainer("age", Compare.gte, 20), new HasContainer("age", Compare.lt, 30)));
+        assertEquals(new Long(51), g.traversal().V().has("age", P.gt(50)).count().next());
+        assertEquals(new Long(10), g.traversal().V().has("age", P.lte(9)).count().next());
+        assertEquals(new Long(10), g.traversal().V().has("age", P.between(20, 30)).count().next());
+        assertEquals(new Long(3), g.traversal().V().has("age", P.within(1, 2, 100l)).count().next());
+        assertEquals(new Long(1), g.traversal().V().has("age", "unknown").count().next());
+        assertEquals(new Long(0), g.traversal().V().has("age", P.between(30, 20)).count().next());
+    }
+
+    @Test
+    public void shouldChooseMostSelectiveVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.ORDERED);
+        g.createIndex("name", Vertex.class);
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("name", i % 2 == 0 ? "even" : "odd", "age", i);
+        }
+
+        // the age range is more selective than the name equality so only ages in range should be candidates
+        assertAges(95, 99, candidates(g, new HasContainer("name", Compare.eq, "odd"), new HasContainer("age", Compare.gte, 95)));
+        assertEquals(new Long(3), g.traversal().V().has("name", "odd").has("age", P.gte(95)).count().next());
+
+        // the name equality is more selective than the age range so only the matched name should be a candidate
+        g.addVertex("name", "marko", "age", 29);
+        final List<TinkerVertex> candidates = candidates(g, new HasContainer("age", Compare.gt, 10), new HasContainer("name", Compare.eq, "marko"));
+        assertEquals(1, candidates.size());
+        assertEquals("marko", candidates.get(0).value("name"));
+        assertEquals(new Long(1), g.traversal().V().has("age", P.gt(10)).has("name", "marko").count().next());
+    }
+
+    @Test
+    public void shouldMaintainIndicesUnderConcurrentUpdates() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("name", Vertex.class);
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.ORDERED);
+
+        final int threads = 8;
+        final ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(pool.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        final Vertex v = g.addVertex("name", "name" + (i % 10), "age", i % 10);
+                        if (i % 2 == 0)
+                            v.remove();
+                        else if (i % 5 == 0)
+                            v.property("age", 100);
+                    }
+                }));
+            }
+            for (final ForkJoinTask<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // odd i are kept and the ones with i % 5 == 0 (i.e. i % 10 == 5) have their age updated
+        assertEquals(threads * 500, IteratorUtils.count(g.vertices()));
+        assertEquals(threads * 100l, g.traversal().V().has("name", "name1").count().next().longValue());
+        assertEquals(0l, g.traversal().V().has("name", "name2").count().next().longValue());
+        assertEquals(threads * 100l, g.traversal().V().has("age", 100).count().next().longValue());
+        assertEquals(0l, g.traversal().V().has("age", 5).count().next().longValue());
+        assertEquals(threads * 400l, g.traversal().V().has("age", P.lt(10)).count().next().longValue());
+    }
+
+    @Test
+    public void shouldUseCompositeVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("tenant", Vertex.class);
+        g.createCompositeIndex(Arrays.asList(T.label.getAccessor(), "tenant", "type"), Vertex.class);
+        assertEquals(1, g.getCompositeIndexedKeys(Vertex.class).size());
+        for (int i = 0; i < 1000; i++) {
+            g.addVertex(T.label, i % 2 == 0 ? "item" : "user", "tenant", i % 2, "type", i % 100);
+        }
+
+        assertEquals(10, candidates(g, new HasContainer(T.label.getAccessor(), Compare.eq, "item"), new HasContainer("tenant", Compare.eq, 0), new HasContainer("type", Compare.eq, 42)).size());
+        assertEquals(10l, g.traversal().V().has(T.label, "item").has("tenant", 0).has("type", 42).count().next().longValue());
+        assertEquals(10l, g.traversal().V().hasLabel("item").has("tenant", 0).has("type", 42).count().next().longValue());
+        assertEquals(0l, g.traversal().V().hasLabel("user").has("tenant", 0).has("type", 42).count().next().longValue());
+
+        // updates and removals are reflected by the composite index
+        final Vertex v = g.traversal().V().hasLabel("item").has("tenant", 0).has("type", 42).next();
+        v.property("type", 43);
+        assertEquals(9l, g.traversal().V().hasLabel("item").has("tenant", 0).has("type", 42).count().next().longValue());
+        assertEquals(1l, g.traversal().V().hasLabel("item").has("tenant", 0).has("type", 43).count().next().longValue());
+        v.property("tenant").remove();
+        assertEquals(0l, g.traversal().V().hasLabel("item").has("tenant", 0).has("type", 43).count().next().longValue());
+        g.traversal().V().hasLabel("item").has("tenant", 0).has("type", 42).next().remove();
+        assertEquals(8l, g.traversal().V().hasLabel("item").has("tenant", 0).has("type", 42).count().next().longValue());
+
+        g.dropCompositeIndex(Arrays.asList(T.label.getAccessor(), "tenant", "type"), Vertex.class);
+        assertEquals(0, g.getCompositeIndexedKeys(Vertex.class).size());
+        assertEquals(8l, g.traversal().V().hasLabel("item").has("tenant", 0).has("type", 42).count().next().longValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateCompositeIndexWithSingleKey() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Arrays.asList("tenant"), Vertex.class);
+    }
+
+    @Test
+    public void shouldKeepElementInSharedBucketWhileAnotherValueMapsToIt() {
+        for (final TinkerGraph.IndexType indexType : TinkerGraph.IndexType.values()) {
+            final TinkerGraph g = TinkerGraph.open();
+            g.createIndex("age", Vertex.class, indexType);
+            g.createCompositeIndex(Arrays.asList("age", "name"), Vertex.class);
+            final Vertex v = g.addVertex("name", "marko");
+            final VertexProperty<Integer> integerAge = v.property(VertexProperty.Cardinality.list, "age", 1);
+            final VertexProperty<Long> longAge = v.property(VertexProperty.Cardinality.list, "age", 1l);
+            final VertexProperty<Double> doubleAge = v.property(VertexProperty.Cardinality.list, "age", 1.0d);
+            final VertexProperty<Double> otherDoubleAge = v.property(VertexProperty.Cardinality.list, "age", 1.0d);
+
+            // an ordered index holds all of the values in one bucket and a hash index holds the equal doubles in one
+            doubleAge.remove();
+            assertEquals(1, candidates(g, new HasContainer("age", Compare.eq, 1.0d)).size());
+            assertEquals(1, candidates(g, new HasContainer("age", Compare.eq, 1.0d), new HasContainer("name", Compare.eq, "marko")).size());
+            integerAge.remove();
+            assertEquals(1, candidates(g, new HasContainer("age", Compare.eq, 1l)).size());
+            assertEquals(1, candidates(g, new HasContainer("age", Compare.eq, 1.0d)).size());
+            otherDoubleAge.remove();
+            assertEquals(1, candidates(g, new HasContainer("age", Compare.eq, 1l)).size());
+            assertEquals(new Long(1), g.traversal().V().has("age", 1l).count().next());
+            if (TinkerGraph.IndexType.ORDERED == indexType)
+                assertEquals(new Long(1), g.traversal().V().has("age", P.gte(1.0d)).count().next());
+            else
+                assertEquals(0, candidates(g, new HasContainer("age", Compare.eq, 1.0d)).size());
+
+            longAge.remove();
+            assertEquals(0, candidates(g, new HasContainer("age", Compare.eq, 1l)).size());
+            assertEquals(0, candidates(g, new HasContainer("age", Compare.eq, 1l), new HasContainer("name", Compare.eq, "marko")).size());
+        }
+    }
+
+    private static List<TinkerVertex> candidates(final TinkerGraph graph, final HasContainer... hasContainers) {
+        return IteratorUtils.list(graph.vertexIndex.get(Arrays.asList(hasContainers)));
+    }
+
+    private static void assertAges(final double low, final double high, final List<TinkerVertex> candidates) {
+        assertFalse(candidates.isEmpty());
+        for (final Vertex candidate : candidates) {
+            final double age = candidate.<Number>value("age").doubleValue();
+            assertTrue(age >= low && age <= high);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Compare;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TinkerGraphLabelIndexTest {
+
+    private static final List<HasContainer> PERSONS = Arrays.asList(new HasContainer(T.label.getAccessor(), Compare.eq, "person"));
+
+    @Test
+    public void shouldNotIndexLabelsByDefault() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        assertFalse(graph.isLabelIndexed(Vertex.class));
+        assertFalse(graph.isLabelIndexed(Edge.class));
+        assertNull(TinkerHelper.queryVertexLabels(graph, PERSONS));
+        assertEquals(-1l, TinkerHelper.countVertices(graph, "person"));
+        assertEquals(6l, TinkerHelper.countVertices(graph, null));
+        assertEquals(4l, graph.traversal().V().hasLabel("person").count().next().longValue());
+    }
+
+    @Test
+    public void shouldIndexExistingElementsWhenCreated() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        graph.createLabelIndex(Vertex.class);
+        assertTrue(graph.isLabelIndexed(Vertex.class));
+        assertFalse(graph.isLabelIndexed(Edge.class));
+        assertEquals(4, IteratorUtils.count(TinkerHelper.queryVertexLabels(graph, PERSONS)));
+        assertEquals(2l, TinkerHelper.countVertices(graph, "software"));
+        graph.dropLabelIndex(Vertex.class);
+        assertFalse(graph.isLabelIndexed(Vertex.class));
+        assertNull(TinkerHelper.queryVertexLabels(graph, PERSONS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotIndexLabelsOfVertexProperties() {
+        TinkerGraph.open().createLabelIndex(VertexProperty.class);
+    }
+
+    @Test
+    public void shouldScanLabelledElementsByLabel() {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.createLabelIndex(Vertex.class);
+        graph.createLabelIndex(Edge.class);
+        final GraphTraversalSource g = graph.traversal();
+        for (int i = 0; i < 1000; i++) {
+            final Vertex person = graph.addVertex(T.label, "person", "name", "person" + i);
+            final Vertex software = graph.addVertex(T.label, i % 10 == 0 ? "software" : "other");
+            person.addEdge(i % 2 == 0 ? "created" : "knows", software);
+        }
+        assertEquals(1000, IteratorUtils.count(TinkerHelper.queryVertexLabels(graph, PERSONS)));
+        assertEquals(100, IteratorUtils.count(TinkerHelper.queryVertexLabels(graph, Arrays.asList(new HasContainer(T.label.getAccessor(), Compare.eq, "software")))));
+        assertNull(TinkerHelper.queryVertexLabels(graph, Arrays.asList(new HasContainer("name", Compare.eq, "person1"))));
+
+        assertEquals(1000, g.V().hasLabel("person").count().next().intValue());
+        assertEquals(1100, g.V().hasLabel("person", "software").count().next().intValue());
+        assertEquals(0, g.V().hasLabel("nothing").count().next().intValue());
+        assertEquals(1, g.V().hasLabel("person").has("name", "person1").count().next().intValue());
+        assertEquals(500, g.E().hasLabel("created").count().next().intValue());
+        assertEquals(1000, g.E().hasLabel("created", "knows", "created").count().next().intValue());
+
+        g.V().hasLabel("software").drop().iterate();
+        assertEquals(0, g.V().hasLabel("software").count().next().intValue());
+        assertEquals(900, g.E().hasLabel("created", "knows").count().next().intValue());
+        graph.vertices(g.V().has("name", "person0").id().next()).next().remove();
+        assertEquals(999, g.V().hasLabel("person").count().next().intValue());
+
+        graph.clear();
+        assertEquals(0, g.V().hasLabel("person").count().next().intValue());
+    }
+
+    @Test
+    public void shouldRemoveEmptyLabelSets() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        graph.createLabelIndex(Vertex.class);
+        graph.createLabelIndex(Edge.class);
+        graph.traversal().V().hasLabel("software").drop().iterate();
+        assertFalse(graph.vertexLabels.containsKey("software"));
+        assertFalse(graph.edgeLabels.containsKey("created"));
+        assertTrue(graph.edgeLabels.containsKey("knows"));
+        assertEquals(0l, TinkerHelper.countVertices(graph, "software"));
+        graph.addVertex(T.label, "software", "name", "gremlin");
+        assertEquals(1l, TinkerHelper.countVertices(graph, "software"));
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.P;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TinkerGraphPersistenceTest {
+
+    @Test
+    public void shouldPersistToGraphLocation() throws Exception {
+        final File dump = TestHelper.generateTempFile(TinkerGraphPersistenceTest.class, "dump", ".kryo");
+        assertTrue(dump.delete());
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_GRAPH_LOCATION, dump.getAbsolutePath());
+
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        graph.variables().set("creator", "marko");
+        graph.close();
+        assertTrue(dump.exists());
+
+        final TinkerGraph reopened = TinkerGraph.open(conf);
+        final TinkerGraph crew = TinkerFactory.createTheCrew();
+        assertEquals(IteratorUtils.count(crew.vertices()), IteratorUtils.count(reopened.vertices()));
+        assertEquals(IteratorUtils.count(crew.edges()), IteratorUtils.count(reopened.edges()));
+        assertEquals("marko", reopened.variables().get("creator").get());
+        crew.vertices().forEachRemaining(v -> {
+            final Vertex other = reopened.vertices(v.id()).next();
+            assertEquals(v.label(), other.label());
+            assertEquals(IteratorUtils.count(v.properties()), IteratorUtils.count(other.properties()));
+            v.properties().forEachRemaining(vp -> {
+                final VertexProperty<Object> otherProperty = IteratorUtils.filter(other.properties(vp.key()), p -> p.id().equals(vp.id())).next();
+                assertEquals(vp.value(), otherProperty.value());
+                vp.properties().forEachRemaining(p -> assertEquals(p.value(), otherProperty.value(p.key())));
+            });
+            assertEquals(IteratorUtils.count(v.edges(Direction.OUT)), IteratorUtils.count(other.edges(Direction.OUT)));
+            assertEquals(IteratorUtils.count(v.edges(Direction.IN)), IteratorUtils.count(other.edges(Direction.IN)));
+        });
+        crew.edges().forEachRemaining(e -> {
+            final Edge other = reopened.edges(e.id()).next();
+            assertEquals(e.label(), other.label());
+            assertEquals(e.outVertex().id(), other.outVertex().id());
+            assertEquals(e.inVertex().id(), other.inVertex().id());
+            e.properties().forEachRemaining(p -> assertEquals(p.value(), other.value(p.key())));
+        });
+        reopened.addVertex("name", "daniel");
+        reopened.close();
+        assertEquals(IteratorUtils.count(crew.vertices()) + 1, IteratorUtils.count(TinkerGraph.open(conf).vertices()));
+    }
+
+    @Test
+    public void shouldPersistIndexDefinitions() throws Exception {
+        final File dump = TestHelper.generateTempFile(TinkerGraphPersistenceTest.class, "indices", ".kryo");
+        assertTrue(dump.delete());
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_GRAPH_LOCATION, dump.getAbsolutePath());
+
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        graph.createIndex("name", Vertex.class);
+        graph.createIndex("age", Vertex.class, TinkerGraph.IndexType.ORDERED);
+        graph.createIndex("weight", Edge.class);
+        graph.createCompositeIndex(Arrays.asList("name", "age"), Vertex.class);
+        graph.createLabelIndex(Edge.class);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final TinkerGraph reopened = TinkerGraph.open(conf);
+        assertEquals(new HashSet<>(Arrays.asList("name", "age")), reopened.getIndexedKeys(Vertex.class));
+        assertEquals(Collections.singleton("weight"), reopened.getIndexedKeys(Edge.class));
+        assertEquals(Collections.singleton(Arrays.asList("name", "age")), reopened.getCompositeIndexedKeys(Vertex.class));
+        assertFalse(reopened.isLabelIndexed(Vertex.class));
+        assertTrue(reopened.isLabelIndexed(Edge.class));
+        assertEquals(TinkerGraph.IndexType.ORDERED, reopened.vertexIndex.getIndexType("age"));
+        assertEquals(TinkerGraph.IndexType.HASH, reopened.vertexIndex.getIndexType("name"));
+        assertEquals(1, TinkerHelper.queryVertexIndex(reopened, "name", "marko").size());
+        assertEquals(2l, reopened.traversal().V().has("age", P.gt(30)).count().next().longValue());
+        assertEquals(2l, reopened.traversal().E().has("weight", 1.0d).count().next().longValue());
+        assertEquals(4l, TinkerHelper.countEdges(reopened, "created"));
+        reopened.close();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TinkerGraphVertexPropertiesTest {
+
+    @Test
+    public void shouldIterateVertexPropertiesWhileRemovingThem() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Vertex vertex = graph.addVertex("name", "marko");
+        vertex.property(VertexProperty.Cardinality.list, "location", "santa fe");
+        vertex.property(VertexProperty.Cardinality.list, "location", "santa cruz");
+        vertex.property(VertexProperty.Cardinality.list, "location", "brussels");
+        assertEquals("marko", vertex.value("name"));
+        assertEquals(Arrays.asList("marko"), IteratorUtils.list(vertex.values("name")));
+        assertEquals(3, IteratorUtils.count(vertex.values("location")));
+        assertEquals(4, IteratorUtils.count(vertex.properties()));
+        try {
+            vertex.value("location");
+            fail("Multiple properties should exist for location");
+        } catch (final IllegalStateException e) {
+            // expected
+        }
+
+        final Iterator<VertexProperty<String>> locations = vertex.properties("location");
+        vertex.property(VertexProperty.Cardinality.list, "location", "aachen");
+        locations.forEachRemaining(VertexProperty::remove);
+        assertEquals("aachen", vertex.value("location"));
+        assertEquals(1L, graph.traversal().V().has("location", "aachen").count().next().longValue());
+        assertEquals(0L, graph.traversal().V().has("location", "brussels").count().next().longValue());
+
+        vertex.property("location").remove();
+        assertFalse(vertex.property("location").isPresent());
+        assertEquals(Collections.singleton("name"), vertex.keys());
+    }
+}